@@ -0,0 +1,158 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+/**
+ * <p>Realistic header values for the benchmarks. These are fixed (not
+ * randomised) so that numbers from different runs can be compared.</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+final class BenchmarkInputs {
+
+private BenchmarkInputs()
+{
+}
+
+/**
+ * Returns the header value for the given kind of input.
+ *
+ * @param kind one of {@code addrspec}, {@code displayname}, {@code quoted},
+ *             {@code comments}, {@code group}, {@code list1k}
+ *
+ * @return header value (always parses as {@code address-list})
+ *
+ * @throws IllegalArgumentException if kind is unknown
+ */
+static String
+header(final String kind)
+{
+	switch (kind) {
+	case "addrspec":
+		return "john.q.public@mail.example.com";
+	case "displayname":
+		return "John Q Public <john.q.public@mail.example.com>";
+	case "quoted":
+		return "\"Public, John Q. \\\"JQ\\\"\" <\"john q\"@mail.example.com>";
+	case "comments":
+		return "Pete(A nice \\) chap (really)) <pete(his account)@silly.example(his (own) host)>";
+	case "group":
+		return "A Group(Some people):Chris Jones <c@(Chris's host.)public.example>,\r\n" +
+		    " joe@example.org, John <jdoe@one.test> (my dear friend); (the end of the group)";
+	case "list1k":
+		return list(1000);
+	default:
+		throw new IllegalArgumentException("unknown input kind: " + kind);
+	}
+}
+
+/**
+ * Returns the domain for the given kind of input.
+ *
+ * @param kind one of {@code short}, {@code typical}, {@code max253},
+ *             {@code trailingdot}, {@code invalid}
+ *
+ * @return hostname
+ *
+ * @throws IllegalArgumentException if kind is unknown
+ */
+static String
+domain(final String kind)
+{
+	final String l63 = "123456789012345678901234567890123456789012345678901234567890123";
+	switch (kind) {
+	case "short":
+		return "example.com";
+	case "typical":
+		return "mx01.mail-relay.eu-central.example.com";
+	case "max253":
+		return l63 + "." + l63 + "." + l63 + "." + l63.substring(2);
+	case "trailingdot":
+		return "mx01.mail-relay.eu-central.example.com.";
+	case "invalid":
+		return "mx01.mail-relay-.eu-central.example.com";
+	default:
+		throw new IllegalArgumentException("unknown domain kind: " + kind);
+	}
+}
+
+/**
+ * Returns the IP address (or Legacy IP address) for the given kind.
+ *
+ * @param kind one of {@code v4}, {@code v6full}, {@code v6unspec},
+ *             {@code v6loopback}, {@code v6trailing}, {@code v6leading},
+ *             {@code v6middle}, {@code v4mapped}, {@code v4nat64},
+ *             {@code v4tail}
+ *
+ * @return address string
+ *
+ * @throws IllegalArgumentException if kind is unknown
+ */
+static String
+ip(final String kind)
+{
+	switch (kind) {
+	case "v4":
+		return "192.0.2.123";
+	case "v6full":
+		return "2001:db8:1234:5678:9abc:def0:1234:5678";
+	case "v6unspec":
+		return "::";
+	case "v6loopback":
+		return "::1";
+	case "v6trailing":
+		return "2001:db8::";
+	case "v6leading":
+		return "::2:3:4:5:6:7:8";
+	case "v6middle":
+		return "2001:db8:0:1::cafe:1";
+	case "v4mapped":
+		return "::ffff:192.0.2.123";
+	case "v4nat64":
+		return "64:ff9b::192.0.2.33";
+	case "v4tail":
+		return "1:2:3:4:5:6:192.0.2.1";
+	default:
+		throw new IllegalArgumentException("unknown IP kind: " + kind);
+	}
+}
+
+/**
+ * Constructs a recipient list like a bulk mailing would use.
+ *
+ * @param n number of mailboxen
+ *
+ * @return {@code mailbox-list} of n name-addr entries
+ */
+static String
+list(final int n)
+{
+	final StringBuilder sb = new StringBuilder(n * 48);
+	for (int i = 0; i < n; ++i) {
+		if (i > 0)
+			sb.append(", ");
+		sb.append("Recipient ").append(i).append(" <user.").append(i).
+		    append("@host-").append(i % 97).append(".example.com>");
+	}
+	return sb.toString();
+}
+
+}
@@ -0,0 +1,104 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the static {@link FQDN} validators, also with a
+ * {@link ClockCache} (always hit, as only one input is used).</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FQDNBenchmark {
+
+@Param({ "short", "typical", "max253", "trailingdot", "invalid" })
+public String kind;
+
+private String input;
+
+@Setup
+public void
+setup()
+{
+	input = BenchmarkInputs.domain(kind);
+}
+
+@Benchmark
+public boolean
+isDomain()
+{
+	return FQDN.isDomain(input);
+}
+
+@State(Scope.Benchmark)
+public static class Cached {
+
+	@Setup
+	public void
+	setup()
+	{
+		FQDN.setCache(new ClockCache<>(1024));
+	}
+
+	@TearDown
+	public void
+	tearDown()
+	{
+		FQDN.setCache(null);
+	}
+
+}
+
+@Benchmark
+public boolean
+isDomainCached(final Cached cached)
+{
+	return FQDN.isDomain(input);
+}
+
+@Benchmark
+public String
+asDomain()
+{
+	return FQDN.asDomain(input);
+}
+
+}
@@ -0,0 +1,95 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the static {@link IPAddress} parsers. Note that the
+ * {@link IPAddress#v4(CharSequence)} benchmark on IPv6 input (and vice versa)
+ * measures the cost of failing; {@link IPAddress#value(CharSequence)} does
+ * not construct an {@link InetAddress}.</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IPAddressBenchmark {
+
+@Param({ "v4", "v6full", "v6unspec", "v6loopback", "v6trailing",
+    "v6leading", "v6middle", "v4mapped", "v4nat64", "v4tail" })
+public String kind;
+
+private String input;
+
+@Setup
+public void
+setup()
+{
+	input = BenchmarkInputs.ip(kind);
+}
+
+@Benchmark
+public InetAddress
+v4()
+{
+	return IPAddress.v4(input);
+}
+
+@Benchmark
+public InetAddress
+v6()
+{
+	return IPAddress.v6(input);
+}
+
+@Benchmark
+public InetAddress
+from()
+{
+	return IPAddress.from(input);
+}
+
+@Benchmark
+public IPAddress.Value
+value()
+{
+	return IPAddress.value(input);
+}
+
+}
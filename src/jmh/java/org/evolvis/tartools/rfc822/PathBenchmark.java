@@ -0,0 +1,211 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the {@link Path} (strict) and {@link UXAddress} (lax)
+ * parse entry points as used for validating inbound header values,
+ * that is, including construction of the parser for each input.</p>
+ *
+ * <p>Throughput gives ops/s, sample time the latency percentiles;
+ * run with {@code -prof gc} (the default {@code jmh.args} in the
+ * POM) for the bytes allocated per call.</p>
+ *
+ * <p>Pass {@code -p memo=true} to measure with memoisation enabled.</p>
+ *
+ * <p>The {@code validate*} benchmarks use the static validation-only
+ * methods instead, which must show zero bytes allocated per call
+ * ({@code gc.alloc.rate.norm}), also for domain literals.</p>
+ *
+ * <p>{@code parseAddressListCached} measures a hit in the result cache
+ * (see {@link Path#setCache(ClockCache)}) as for repeated headers.</p>
+ *
+ * <p>{@code fingerprint} and {@code canonicalKey} measure deriving a
+ * join key from an already parsed {@link Path.AddrSpec} (the same one
+ * for all parameters); the former must not allocate.</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PathBenchmark {
+
+@Param({ "addrspec", "displayname", "quoted", "comments", "group", "list1k" })
+public String kind;
+
+@Param({ "false", "true" })
+public boolean lax;
+
+@Param({ "false" })
+public boolean memo;
+
+private String input;
+
+@Setup
+public void
+setup()
+{
+	input = BenchmarkInputs.header(kind);
+}
+
+private Path
+parser()
+{
+	final Path p = lax ? UXAddress.of(input) : Path.of(input);
+	p.setMemoising(memo);
+	return p;
+}
+
+@Benchmark
+public Path.ParserResult
+asAddrSpec()
+{
+	return parser().asAddrSpec();
+}
+
+@Benchmark
+public Path.ParserResult
+forSenderMailbox()
+{
+	return parser().forSender(false);
+}
+
+@Benchmark
+public Path.ParserResult
+forSenderAddress()
+{
+	return parser().forSender(true);
+}
+
+@Benchmark
+public Path.ParserResult
+asMailboxList()
+{
+	return parser().asMailboxList();
+}
+
+@Benchmark
+public Path.ParserResult
+asAddressList()
+{
+	return parser().asAddressList();
+}
+
+@Benchmark
+public Path.Classification
+classify()
+{
+	return parser().classify();
+}
+
+@Benchmark
+public Path.Validity
+validateAddrSpec()
+{
+	return lax ? UXAddress.validateAddrSpec(input) :
+	    Path.validateAddrSpec(input);
+}
+
+@Benchmark
+public Path.Validity
+validateAddressList()
+{
+	return lax ? UXAddress.validateAddressList(input) :
+	    Path.validateAddressList(input);
+}
+
+@State(Scope.Benchmark)
+public static class Cached {
+
+	@Setup
+	public void
+	setup()
+	{
+		Path.setCache(new ClockCache<>(1024));
+		UXAddress.setCache(new ClockCache<>(1024));
+	}
+
+	@TearDown
+	public void
+	tearDown()
+	{
+		Path.setCache(null);
+		UXAddress.setCache(null);
+	}
+
+}
+
+@Benchmark
+public Path.ParserResult
+parseAddressListCached(final Cached cached)
+{
+	return lax ? UXAddress.parse(input, Path.Mode.ADDRESS_LIST) :
+	    Path.parse(input, Path.Mode.ADDRESS_LIST);
+}
+
+@State(Scope.Benchmark)
+public static class Parsed {
+
+	Path.AddrSpec addrSpec;
+
+	@Setup
+	public void
+	setup()
+	{
+		addrSpec = Path.of("\"John.Q.Public\"@Mail.Example.COM").asAddrSpec();
+	}
+
+}
+
+@Benchmark
+public long
+fingerprint(final Parsed parsed)
+{
+	return parsed.addrSpec.fingerprint();
+}
+
+@Benchmark
+public String
+canonicalKey(final Parsed parsed)
+{
+	return parsed.addrSpec.canonicalKey();
+}
+
+}
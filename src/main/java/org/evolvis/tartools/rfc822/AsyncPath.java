@@ -0,0 +1,217 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Asynchronous front-end for {@link Path} and {@link UXAddress}: parses
+ * or validates inputs on an {@link Executor} of the caller’s choice (a
+ * thread pool, {@link java.util.concurrent.ForkJoinPool#commonPool()}, or
+ * one starting a virtual thread per task where available), returning
+ * {@link CompletableFuture}s for use in asynchronous pipelines.</p>
+ *
+ * <p>At most {@code maxPending} inputs are queued or in progress at any
+ * time: submitting more blocks the submitting thread until one finishes,
+ * so a fast producer is slowed down to the rate the executor sustains
+ * (backpressure), instead of filling an unbounded queue.</p>
+ *
+ * <p>Tasks use the static methods, such as {@link Path#parse(CharSequence,
+ * Path.Mode)} (including its result cache, if set) and the static
+ * {@code validate*} methods, so they never reset the {@code forThread}
+ * parser of the thread they run on, even if that is the submitting one
+ * (e.g. with a caller-runs executor). Instances of this class are
+ * thread-safe; the inputs must not be modified until the respective
+ * future has completed (and, as always, while the results are in use).</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public final class AsyncPath {
+
+private final Executor executor;
+private final Semaphore pending;
+private final boolean lax;
+
+/**
+ * Creates an asynchronous front-end.
+ *
+ * @param executor   to run the parsers on
+ * @param maxPending maximum number of inputs submitted but not yet
+ *                   finished, at least 1
+ * @param lax        whether to use {@link UXAddress} (forgiving) instead
+ *                   of {@link Path} (strict) parsing
+ *
+ * @throws IllegalArgumentException if maxPending is less than 1
+ */
+public AsyncPath(@NonNull final Executor executor, final int maxPending,
+    final boolean lax)
+{
+	if (maxPending < 1)
+		throw new IllegalArgumentException("maxPending must be positive: " +
+		    maxPending);
+	this.executor = executor;
+	pending = new Semaphore(maxPending);
+	this.lax = lax;
+}
+
+private <T> CompletableFuture<T>
+submit(final Supplier<T> task) throws InterruptedException
+{
+	pending.acquire();
+	try {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return task.get();
+			} finally {
+				pending.release();
+			}
+		}, executor);
+	} catch (RejectedExecutionException e) {
+		pending.release();
+		throw e;
+	}
+}
+
+/**
+ * Parses the input as the given production on the executor, blocking
+ * first while {@code maxPending} inputs are pending.
+ *
+ * @param input to parse
+ * @param mode  production to parse the input as
+ *
+ * @return future for the parser result, completing with null if input
+ *     was null, very large or does not parse; remember to call isValid()
+ *
+ * @throws InterruptedException       if interrupted while blocked
+ * @throws RejectedExecutionException if the executor does not accept it
+ * @see Path#parse(CharSequence, Path.Mode)
+ */
+public CompletableFuture<Path.ParserResult>
+parse(final CharSequence input, @NonNull final Path.Mode mode)
+    throws InterruptedException
+{
+	return submit(() -> lax ? UXAddress.parse(input, mode) :
+	    Path.parse(input, mode));
+}
+
+/**
+ * Validates the input as the given production on the executor, blocking
+ * first while {@code maxPending} inputs are pending.
+ *
+ * @param input to validate
+ * @param mode  production to validate the input as
+ *
+ * @return future for the {@link Path.Validity} of the input
+ *
+ * @throws InterruptedException       if interrupted while blocked
+ * @throws RejectedExecutionException if the executor does not accept it
+ * @see Path#validateAddressList(CharSequence)
+ */
+public CompletableFuture<Path.Validity>
+validate(final CharSequence input, @NonNull final Path.Mode mode)
+    throws InterruptedException
+{
+	return submit(() -> lax ? validateLax(input, mode) :
+	    validateStrict(input, mode));
+}
+
+private static Path.Validity
+validateStrict(final CharSequence input, final Path.Mode mode)
+{
+	switch (mode) {
+	case ADDR_SPEC:
+		return Path.validateAddrSpec(input);
+	case MAILBOX:
+		return Path.validateMailbox(input);
+	case ADDRESS:
+		return Path.validateAddress(input);
+	case MAILBOX_LIST:
+		return Path.validateMailboxList(input);
+	default:
+		return Path.validateAddressList(input);
+	}
+}
+
+private static Path.Validity
+validateLax(final CharSequence input, final Path.Mode mode)
+{
+	switch (mode) {
+	case ADDR_SPEC:
+		return UXAddress.validateAddrSpec(input);
+	case MAILBOX:
+		return UXAddress.validateMailbox(input);
+	case ADDRESS:
+		return UXAddress.validateAddress(input);
+	case MAILBOX_LIST:
+		return UXAddress.validateMailboxList(input);
+	default:
+		return UXAddress.validateAddressList(input);
+	}
+}
+
+/**
+ * Parses all inputs as the given production on the executor, each as
+ * by {@link #parse(CharSequence, Path.Mode)}, blocking while submitting
+ * whenever {@code maxPending} inputs are pending.
+ *
+ * @param inputs to parse, each may be null
+ * @param mode   production to parse the inputs as
+ *
+ * @return future for the list of parser results, in the order of
+ *     {@code inputs}, completing when all are done
+ *
+ * @throws InterruptedException       if interrupted while blocked
+ * @throws RejectedExecutionException if the executor does not accept one
+ */
+public CompletableFuture<List<Path.ParserResult>>
+parseAll(@NonNull final Iterable<? extends CharSequence> inputs,
+    @NonNull final Path.Mode mode) throws InterruptedException
+{
+	final List<CompletableFuture<Path.ParserResult>> futures = new ArrayList<>();
+	for (final CharSequence input : inputs)
+		futures.add(parse(input, mode));
+	return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).
+	    thenApply((v) -> futures.stream().map(CompletableFuture::join).
+	    collect(Collectors.toList()));
+}
+
+/**
+ * Returns the number of inputs that can currently be submitted without
+ * blocking, for monitoring.
+ *
+ * @return number of free slots, from 0 to {@code maxPending}
+ */
+public int
+available()
+{
+	return pending.availablePermits();
+}
+
+}
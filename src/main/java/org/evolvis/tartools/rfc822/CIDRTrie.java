@@ -0,0 +1,370 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+
+/**
+ * <p>Longest-prefix-match index of IP and Legacy IP address ranges (CIDR
+ * prefixes), e.g. for rejecting eMail addresses whose domain literal is
+ * in a blocked or private range, or for classifying addresses from logs.</p>
+ *
+ * <p>This is a path-compressed binary radix tree over 128-bit addresses,
+ * stored in a primitive array (one cache line per node visited), so it
+ * stays compact with millions of prefixes, and lookups do not allocate.
+ * Legacy IP addresses and prefixes are stored as their v4-mapped IPv6
+ * equivalents (see {@link IPAddress.Value}), so {@code 192.0.2.0/24}
+ * also matches {@code ::ffff:192.0.2.1}.</p>
+ *
+ * <p>Not safe for concurrent modification; once filled and safely
+ * published, any number of threads may look up concurrently.</p>
+ *
+ * @param <V> type of the values associated with the prefixes
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public final class CIDRTrie<V> {
+
+private static final int NONE = -1;
+/**
+ * Prefix length of v4-mapped IPv6 addresses, {@code ::ffff:0:0/96}.
+ */
+private static final int V4OFS = 96;
+
+/**
+ * <p>Nodes, interleaved so a lookup touches one cache line per node;
+ * each occupies {@link #STRIDE} elements:</p><ol start="0">
+ * <li>upper 64 bits of the prefix (host bits cleared)</li>
+ * <li>lower 64 bits of the prefix (host bits cleared)</li>
+ * <li>prefix length in bits, plus {@link #HAS_VALUE}</li>
+ * <li>index of the child node whose next bit is 0 (upper 32 bits)
+ * and 1 (lower 32 bits), or {@link #NONE}</li>
+ * </ol>
+ */
+private long[] node;
+private static final int STRIDE = 4;
+/**
+ * Flag for nodes with a value, so lookups need not check {@link #value}.
+ */
+private static final long HAS_VALUE = 0x100L;
+private static final int LEN_MASK = 0xFF;
+/**
+ * Value of each node, or null for nodes only joining subtrees.
+ */
+private Object[] value;
+/**
+ * Number of nodes in use; node 0 is the root, {@code ::/0}.
+ */
+private int nodes;
+/**
+ * Number of prefixes with a value.
+ */
+private int size;
+
+/**
+ * Creates a new, empty, index.
+ */
+public CIDRTrie()
+{
+	node = new long[64 * STRIDE];
+	value = new Object[64];
+	nodes = 0;
+	node(0L, 0L, 0, null);
+}
+
+private int
+node(final long hi, final long lo, final int len, final Object v)
+{
+	if (nodes == value.length) {
+		node = Arrays.copyOf(node, nodes * 2 * STRIDE);
+		value = Arrays.copyOf(value, nodes * 2);
+	}
+	final int i = nodes * STRIDE;
+	node[i] = hi;
+	node[i + 1] = lo;
+	node[i + 2] = len | (v != null ? HAS_VALUE : 0L);
+	node[i + 3] = -1L;
+	value[nodes] = v;
+	return nodes++;
+}
+
+private int
+plen(final int n)
+{
+	return (int)node[n * STRIDE + 2] & LEN_MASK;
+}
+
+private int
+child(final int n, final int b)
+{
+	final long c = node[n * STRIDE + 3];
+	return (int)(b == 0 ? c >> 32 : c);
+}
+
+private void
+setChild(final int n, final int b, final int c)
+{
+	final int i = n * STRIDE + 3;
+	node[i] = b == 0 ? ((long)c << 32) | (node[i] & 0xFFFFFFFFL) :
+	    (node[i] & 0xFFFFFFFF00000000L) | (c & 0xFFFFFFFFL);
+}
+
+private static long
+mask(final int len)
+{
+	// mask for the first len (0‥64) bits of a half
+	return len == 0 ? 0L : -1L << (64 - len);
+}
+
+private static int
+bit(final long hi, final long lo, final int pos)
+{
+	return (int)((pos < 64 ? hi << pos : lo << (pos - 64)) >>> 63);
+}
+
+/**
+ * Returns the number of leading bits two addresses have in common.
+ */
+private static int
+common(final long hi1, final long lo1, final long hi2, final long lo2)
+{
+	final long x = hi1 ^ hi2;
+	if (x != 0L)
+		return Long.numberOfLeadingZeros(x);
+	return 64 + Long.numberOfLeadingZeros(lo1 ^ lo2);
+}
+
+/**
+ * Associates a value with a prefix, replacing the value of an equal
+ * prefix. Host bits of the prefix address are ignored.
+ *
+ * @param prefix address (Legacy IP or IP) of the range
+ * @param len    prefix length in bits, 0‥32 for Legacy IP, 0‥128 for IP
+ * @param v      value to associate with the range
+ *
+ * @return previous value for this prefix, or null if none
+ *
+ * @throws IllegalArgumentException if len is out of range
+ */
+@SuppressWarnings("unchecked")
+public V
+put(@NonNull final IPAddress.Value prefix, final int len, @NonNull final V v)
+{
+	final int max = prefix.isV4() ? 32 : 128;
+	if (len < 0 || len > max)
+		throw new IllegalArgumentException(String.format(
+		    "prefix length %d not within [0, %d]", len, max));
+	final int bits = prefix.isV4() ? V4OFS + len : len;
+	final long hi = prefix.getHigh() & (bits >= 64 ? -1L : mask(bits));
+	final long lo = bits <= 64 ? 0L : prefix.getLow() & mask(bits - 64);
+
+	int n = 0;
+	while (true) {
+		if (plen(n) == bits) {
+			final Object old = value[n];
+			value[n] = v;
+			node[n * STRIDE + 2] |= HAS_VALUE;
+			if (old == null)
+				++size;
+			return (V)old;
+		}
+		final int b = bit(hi, lo, plen(n));
+		final int c = child(n, b);
+		if (c == NONE) {
+			setChild(n, b, node(hi, lo, bits, v));
+			++size;
+			return null;
+		}
+		final long chi = node[c * STRIDE];
+		final long clo = node[c * STRIDE + 1];
+		final int cl = Math.min(common(hi, lo, chi, clo),
+		    Math.min(bits, plen(c)));
+		if (cl == plen(c)) {
+			n = c;
+			continue;
+		}
+		// split the edge from n to c
+		final int m;
+		if (cl == bits)
+			m = node(hi, lo, bits, v);
+		else {
+			m = node(hi & (cl >= 64 ? -1L : mask(cl)),
+			    cl <= 64 ? 0L : lo & mask(cl - 64), cl, null);
+			setChild(m, bit(hi, lo, cl), node(hi, lo, bits, v));
+		}
+		setChild(m, bit(chi, clo, cl), c);
+		setChild(n, b, m);
+		++size;
+		return null;
+	}
+}
+
+/**
+ * Associates a value with a prefix given in CIDR notation, such as
+ * {@code 192.0.2.0/24} or {@code 2001:db8::/32}; without a prefix
+ * length, with the single address.
+ *
+ * @param cidr prefix to add
+ * @param v    value to associate with the range
+ *
+ * @return false if {@code cidr} is not valid, true otherwise
+ */
+public boolean
+add(@NonNull final CharSequence cidr, @NonNull final V v)
+{
+	final int n = cidr.length();
+	int slash = n - 1;
+	while (slash >= 0 && cidr.charAt(slash) != '/')
+		--slash;
+	final IPAddress.Value prefix = IPAddress.value(cidr, 0, slash < 0 ? n : slash);
+	if (prefix == null)
+		return false;
+	int len = prefix.isV4() ? 32 : 128;
+	if (slash >= 0) {
+		// 1‥3 decimal digits without leading zero
+		if (slash + 1 == n || n - slash > 4 ||
+		    (cidr.charAt(slash + 1) == '0' && n - slash > 2))
+			return false;
+		len = 0;
+		for (int i = slash + 1; i < n; ++i) {
+			final char c = cidr.charAt(i);
+			if (c < '0' || c > '9')
+				return false;
+			len = len * 10 + (c - '0');
+		}
+		if (len > (prefix.isV4() ? 32 : 128))
+			return false;
+	}
+	put(prefix, len, v);
+	return true;
+}
+
+/**
+ * Finds the value of the longest prefix containing an address.
+ * Does not allocate.
+ *
+ * @param hi upper 64 bits of the address (Legacy IP: v4-mapped)
+ * @param lo lower 64 bits of the address
+ *
+ * @return value of the most specific range, or null if none matches
+ */
+@SuppressWarnings("unchecked")
+public V
+match(final long hi, final long lo)
+{
+	final long[] t = node;
+	int best = 0;
+	int i = 0;
+	int len = 0;
+	while (len < 128) {
+		final long cc = t[i + 3];
+		final int c = (int)(bit(hi, lo, len) == 0 ? cc >> 32 : cc);
+		if (c == NONE)
+			break;
+		i = c * STRIDE;
+		final long meta = t[i + 2];
+		len = (int)meta & LEN_MASK;
+		// is the address within the child’s prefix?
+		if (len <= 64 ? ((hi ^ t[i]) & mask(len)) != 0L :
+		    hi != t[i] || ((lo ^ t[i + 1]) & mask(len - 64)) != 0L)
+			break;
+		if ((meta & HAS_VALUE) != 0L)
+			best = c;
+	}
+	return (V)value[best];
+}
+
+/**
+ * Finds the value of the longest prefix containing an address.
+ *
+ * @param addr address to look up
+ *
+ * @return value of the most specific range, or null if none matches
+ */
+public V
+match(@NonNull final IPAddress.Value addr)
+{
+	return match(addr.getHigh(), addr.getLow());
+}
+
+/**
+ * Finds the value of the longest prefix containing an address, such as
+ * the domain data of an {@code addr-spec} with a domain literal.
+ *
+ * @param addr address to look up
+ *
+ * @return value of the most specific range, or null if none matches
+ */
+public V
+match(@NonNull final InetAddress addr)
+{
+	final byte[] b = addr.getAddress();
+	long hi = 0L;
+	long lo = 0L;
+	if (b.length == 4)
+		lo = 0x0000FFFF00000000L;
+	final int ofs = b.length - 8;
+	for (int i = 0; i < b.length; ++i)
+		if (i < ofs)
+			hi = (hi << 8) | (b[i] & 0xFF);
+		else
+			lo |= (long)(b[i] & 0xFF) << (8 * (b.length - 1 - i));
+	return match(hi, lo);
+}
+
+/**
+ * Parses a range of the input as IP or Legacy IP address and finds the
+ * value of the longest prefix containing it, without allocating.
+ *
+ * @param addr to parse, see {@link IPAddress#value(CharSequence, int, int)}
+ * @param beg  offset of the first character of the range to parse
+ * @param end  offset after the last character of the range to parse
+ *
+ * @return value of the most specific range, or null if none matches
+ *     or the input is not a valid address
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public V
+match(final CharSequence addr, final int beg, final int end)
+{
+	val p = IPAddress.staticParser(addr, beg, end);
+	if (p == null || p.parseValue() == 0)
+		return null;
+	return match(p.valueHigh(), p.valueLow());
+}
+
+/**
+ * Returns the number of prefixes with a value.
+ *
+ * @return number of prefixes
+ */
+public int
+size()
+{
+	return size;
+}
+
+}
@@ -23,9 +23,18 @@ package org.evolvis.tartools.rfc822;
 import lombok.val;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
 
 import static org.evolvis.tartools.rfc822.MiscUtils.escapeNonPrintASCII;
 import static org.evolvis.tartools.rfc822.MiscUtils.trim;
@@ -62,15 +71,36 @@ chk(final Path.ParserResult arg)
 	return arg == null ? BAD : arg.isValid() ? VALID : PARSES;
 }
 
-private static void
+/**
+ * Outcome of a check: exit status and, on success, canonical output.
+ */
+private static final class Check {
+
+	final int status;
+	final String output;
+
+	Check(final int status, final String output)
+	{
+		this.status = status;
+		this.output = output;
+	}
+
+}
+
+private static Check
 one(final Path.ParserResult arg)
 {
 	if (arg == null)
-		System.exit(41);
+		return new Check(41, null);
 	if (!arg.isValid())
-		System.exit(42);
-	System.out.println(arg);
-	System.exit(0);
+		return new Check(42, null);
+	return new Check(0, arg.toString());
+}
+
+private static Check
+one(final String canonical)
+{
+	return canonical == null ? new Check(43, null) : new Check(0, canonical);
 }
 
 private static void
@@ -80,8 +110,12 @@ usage()
 	System.err.println("       java -jar rfc822.jar -TYPE input  # check mode (on success, exit 0)");
 	System.err.println("TYPE: addrspec, mailbox, address, mailboxlist, addresslist, domain, ipv4, ipv6");
 	System.err.println("exit code 43 = unspecified bad input, 42 = invalid, 41 = cannot even be parsed");
+	System.err.println("       java -jar rfc822.jar -serve  # check mode for each stdin line \"TYPE input\"");
 	System.err.println("       java -jar rfc822.jar -extract input ...  # list addr-spec of each input");
+	System.err.println("       java -jar rfc822.jar -stream [-0] [-jN]  # same, one line per stdin line");
 	System.err.println("exit code 45 = no valid input, 0 = all inputs valid, 44 = some invalid present");
+	System.err.println("-extract/-stream write one line per input, empty if invalid, newline-terminated");
+	System.err.println("-stream options: -0 inputs are NUL-terminated, -jN use N worker threads");
 	System.err.println("Extra options (pass before others): -lax use user-friendly parsing, trim input");
 	System.exit(1);
 }
@@ -100,45 +134,113 @@ prepareArg(final String arg)
 	return trim(arg);
 }
 
+/**
+ * Checks one input, as in check mode.
+ *
+ * @param flag  TYPE with leading hyphen-minus
+ * @param input to check
+ *
+ * @return outcome, or null if flag is not a valid TYPE
+ */
 @SuppressWarnings("squid:S3776")
-private static void
-batch(final String flag, final String input)
+private static Check
+check(final String flag, final String input)
 {
 	if ("-addrspec".equals(flag) || "-addr-spec".equals(flag)) {
-		val asPath = lax ? UXAddress.of(input) : Path.of(input);
-		one(asPath != null ? asPath.asAddrSpec() : null);
+		val asPath = lax ? UXAddress.forThread(input) : Path.forThread(input);
+		return one(asPath != null ? asPath.asAddrSpec() : null);
 	} else if ("-mailbox".equals(flag)) {
-		val asPath = lax ? UXAddress.of(input) : Path.of(input);
-		one(asPath != null ? asPath.forSender(false) : null);
+		val asPath = lax ? UXAddress.forThread(input) : Path.forThread(input);
+		return one(asPath != null ? asPath.forSender(false) : null);
 	} else if ("-address".equals(flag)) {
-		val asPath = lax ? UXAddress.of(input) : Path.of(input);
-		one(asPath != null ? asPath.forSender(true) : null);
+		val asPath = lax ? UXAddress.forThread(input) : Path.forThread(input);
+		return one(asPath != null ? asPath.forSender(true) : null);
 	} else if ("-mailboxlist".equals(flag) || "-mailbox-list".equals(flag)) {
-		val asPath = lax ? UXAddress.of(input) : Path.of(input);
-		one(asPath != null ? asPath.asMailboxList() : null);
+		val asPath = lax ? UXAddress.forThread(input) : Path.forThread(input);
+		return one(asPath != null ? asPath.asMailboxList() : null);
 	} else if ("-addresslist".equals(flag) || "-address-list".equals(flag)) {
-		val asPath = lax ? UXAddress.of(input) : Path.of(input);
-		one(asPath != null ? asPath.asAddressList() : null);
+		val asPath = lax ? UXAddress.forThread(input) : Path.forThread(input);
+		return one(asPath != null ? asPath.asAddressList() : null);
 	} else if ("-domain".equals(flag) || "-fqdn".equals(flag)) {
-		val asDomain = canonicaliseParsedFQDN(FQDN.asDomain(input));
-		if (asDomain == null)
-			System.exit(43);
-		System.out.println(asDomain);
-		System.exit(0);
+		return one(canonicaliseParsedFQDN(FQDN.asDomain(input)));
 	} else if ("-ipv4".equals(flag)) {
 		val i4 = IPAddress.v4(input);
-		if (i4 == null)
-			System.exit(43);
-		System.out.println(i4.getHostAddress());
-		System.exit(0);
+		return one(i4 == null ? null : i4.getHostAddress());
 	} else if ("-ipv6".equals(flag)) {
 		val i6 = IPAddress.v6(input);
-		if (i6 == null)
-			System.exit(43);
-		System.out.println(i6.getHostAddress());
-		System.exit(0);
+		return one(i6 == null ? null : i6.getHostAddress());
+	}
+	return null;
+}
+
+private static void
+batch(final String flag, final String input)
+{
+	val c = check(flag, input);
+	if (c == null)
+		usage();
+	if (c.output != null)
+		System.out.println(c.output);
+	System.exit(c.status);
+}
+
+/**
+ * Coprocess mode: check mode for each line “TYPE input” (TYPE with or
+ * without the leading hyphen-minus) read from stdin, answered by one
+ * line “status” or, on success, “0 canonical-output” on stdout, until
+ * end of input. Status 1 means TYPE was not recognised.
+ */
+private static void
+serve() throws IOException
+{
+	serve(new InputStreamReader(System.in),
+	    new BufferedWriter(new OutputStreamWriter(System.out), 65536));
+	System.exit(0);
+}
+
+/**
+ * Implements {@link #serve()}: answers the requests read from in on w,
+ * flushing after each answer unless the next request is already read
+ * in full, so pipelined requests are answered in bulk, but a client
+ * never waits for an answer while the server waits for more input.
+ *
+ * @param in to read requests from
+ * @param w  to write answers to
+ */
+static void
+serve(final Reader in, final Writer w) throws IOException
+{
+	final Records r = new Records(in, false);
+	String line;
+	while ((line = r.next()) != null) {
+		final int sp = line.indexOf(' ');
+		final String type = sp == -1 ? line : line.substring(0, sp);
+		final String input = sp == -1 ? "" : line.substring(sp + 1);
+		val c = check(type.startsWith("-") ? type : "-" + type,
+		    prepareArg(input));
+		if (c == null)
+			w.write("1");
+		else {
+			w.write(Integer.toString(c.status));
+			if (c.output != null) {
+				w.write(' ');
+				w.write(c.output);
+			}
+		}
+		w.write('\n');
+		// answer now unless another request is already complete
+		if (!r.buffered())
+			w.flush();
 	}
-	usage();
+	w.flush();
+}
+
+private static String
+extractOne(final String arg)
+{
+	val p = lax ? UXAddress.forThread(arg) : Path.forThread(arg);
+	val l = p != null ? p.asAddressList() : null;
+	return l != null && l.isValid() ? String.join(", ", l.flattenAddrSpecs()) : null;
 }
 
 private static void
@@ -153,10 +255,9 @@ extract(final String[] args, int skip)
 			continue;
 		}
 		val arg = prepareArg(el);
-		val p = lax ? UXAddress.of(arg) : Path.of(arg);
-		val l = p != null ? p.asAddressList() : null;
-		if (l != null && l.isValid()) {
-			System.out.println(String.join(", ", l.flattenAddrSpecs()));
+		val l = extractOne(arg);
+		if (l != null) {
+			System.out.println(l);
 			anyValid = true;
 		} else {
 			System.err.println("N: not valid: " + escapeNonPrintASCII(arg));
@@ -164,6 +265,12 @@ extract(final String[] args, int skip)
 			anyInvalid = true;
 		}
 	}
+	extracted(anyValid, anyInvalid);
+}
+
+private static void
+extracted(final boolean anyValid, final boolean anyInvalid)
+{
 	if (!anyValid) {
 		System.err.println("E: no valid inputs provided");
 		System.exit(45);
@@ -174,6 +281,160 @@ extract(final String[] args, int skip)
 	System.exit(44);
 }
 
+/**
+ * Splits a character stream into records (lines or NUL-terminated),
+ * without the per-character locking of {@link BufferedReader#read()}.
+ */
+private static final class Records {
+
+	private final Reader in;
+	private final char delim;
+	private final char[] buf = new char[65536];
+	private int pos = 0;
+	private int len = 0;
+
+	Records(final Reader in, final boolean nul)
+	{
+		this.in = in;
+		delim = nul ? '\0' : '\n';
+	}
+
+	private String
+	record(final String s)
+	{
+		// CR-LF line endings
+		return delim == '\n' && s.endsWith("\r") ?
+		    s.substring(0, s.length() - 1) : s;
+	}
+
+	/**
+	 * Returns the next record, without its terminator; the last one
+	 * need not be terminated.
+	 *
+	 * @return record, or null at end of input
+	 */
+	String
+	next() throws IOException
+	{
+		StringBuilder sb = null;
+		while (true) {
+			if (pos == len) {
+				len = in.read(buf);
+				pos = 0;
+				if (len == -1) {
+					len = 0;
+					return sb == null ? null : record(sb.toString());
+				}
+			}
+			int i = pos;
+			while (i < len && buf[i] != delim)
+				++i;
+			if (i < len) {
+				final String s = sb == null ? new String(buf, pos, i - pos) :
+				    sb.append(buf, pos, i - pos).toString();
+				pos = i + 1;
+				return record(s);
+			}
+			if (sb == null)
+				sb = new StringBuilder();
+			sb.append(buf, pos, len - pos);
+			pos = len;
+		}
+	}
+
+	/**
+	 * Returns whether a complete record is buffered, that is, whether
+	 * {@link #next()} returns it without reading (and maybe blocking).
+	 *
+	 * @return true if the next record is terminated within the buffer
+	 */
+	boolean
+	buffered()
+	{
+		for (int i = pos; i < len; ++i)
+			if (buf[i] == delim)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Reads up to {@code n} records.
+	 *
+	 * @param n maximum number of records to read
+	 *
+	 * @return list of records, empty at end of input
+	 */
+	List<String>
+	next(final int n) throws IOException
+	{
+		final List<String> rv = new ArrayList<>(n);
+		String s;
+		while (rv.size() < n && (s = next()) != null)
+			rv.add(s);
+		return rv;
+	}
+
+}
+
+private static final int STREAM_BATCH = 8192;
+
+/**
+ * Like {@link #extract(String[], int)} but for all records from stdin,
+ * validated in batches across worker threads; one batch is validated
+ * while the next one is read. The output is line-aligned with the input,
+ * also for NUL-terminated records: one line per record, in input order,
+ * empty if invalid.
+ */
+private static void
+stream(final String[] args, int optind, int argc) throws IOException
+{
+	boolean nul = false;
+	int threads = Runtime.getRuntime().availableProcessors();
+
+	while (argc-- > 0) {
+		final String opt = args[optind++];
+		if ("-0".equals(opt))
+			nul = true;
+		else if (opt.startsWith("-j") && opt.length() > 2 &&
+		    opt.substring(2).chars().allMatch(Character::isDigit) &&
+		    opt.length() < 8 && Integer.parseInt(opt.substring(2)) > 0)
+			threads = Integer.parseInt(opt.substring(2));
+		else
+			usage();
+	}
+
+	boolean anyValid = false;
+	boolean anyInvalid = false;
+	final ForkJoinPool pool = new ForkJoinPool(threads);
+	final Records in = new Records(new InputStreamReader(System.in), nul);
+	final Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 65536);
+	List<String> batch = in.next(STREAM_BATCH);
+	while (!batch.isEmpty()) {
+		final List<String> inputs = batch;
+		// parallelStream() runs in the pool it is invoked from
+		final ForkJoinTask<List<String>> results = pool.submit(() -> inputs.
+		    parallelStream().map((arg) -> extractOne(prepareArg(arg))).
+		    collect(Collectors.toList()));
+		batch = in.next(STREAM_BATCH);
+		final List<String> outputs = results.join();
+		for (int i = 0; i < outputs.size(); ++i) {
+			final String l = outputs.get(i);
+			if (l != null) {
+				out.write(l);
+				anyValid = true;
+			} else {
+				System.err.println("N: not valid: " +
+				    escapeNonPrintASCII(prepareArg(inputs.get(i))));
+				anyInvalid = true;
+			}
+			out.write('\n');
+		}
+	}
+	out.flush();
+	pool.shutdown();
+	extracted(anyValid, anyInvalid);
+}
+
 @SuppressWarnings({ "squid:S3776", /* Sonar bug? */ "squid:S3973" })
 public static void
 main(final String[] argv) throws IOException
@@ -199,7 +460,11 @@ main(final String[] argv) throws IOException
 			}
 			if (argc > 0)
 				extract(argv, optind);
-		} else if (argc == 3 && "--".equals(argv[optind + 1]))
+		} else if ("-stream".equals(argv[optind]))
+			stream(argv, optind + 1, argc - 1);
+		else if (argc == 1 && "-serve".equals(argv[optind]))
+			serve();
+		else if (argc == 3 && "--".equals(argv[optind + 1]))
 			batch(argv[optind], prepareArg(argv[optind + 2]));
 		else if (argc == 2)
 			batch(argv[optind], prepareArg(argv[optind + 1]));
@@ -269,11 +534,12 @@ private static void
 interactive(final String arg)
 {
 	val asPath = lax ? UXAddress.of(arg) : Path.of(arg);
-	val asAS = asPath != null ? asPath.asAddrSpec() : null;
-	val asMbox = asPath != null ? asPath.forSender(false) : null;
-	val asAddr = asPath != null ? asPath.forSender(true) : null;
-	val asML = asPath != null ? asPath.asMailboxList() : null;
-	val asAL = asPath != null ? asPath.asAddressList() : null;
+	val cls = asPath != null ? asPath.classify() : null;
+	val asAS = cls != null ? cls.getAddrSpec() : null;
+	val asMbox = cls != null ? cls.getMailbox() : null;
+	val asAddr = cls != null ? cls.getAddress() : null;
+	val asML = cls != null ? cls.getMailboxList() : null;
+	val asAL = cls != null ? cls.getAddressList() : null;
 	val isDom = canonicaliseParsedFQDN(FQDN.asDomain(arg));
 	val i6 = IPAddress.v6(arg);
 	val i4 = IPAddress.v4(arg);
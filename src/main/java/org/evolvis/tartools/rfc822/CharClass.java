@@ -0,0 +1,233 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.NonNull;
+
+/**
+ * <p>Immutable character class: a set of ASCII characters, stored as
+ * 128-bit bitmap, plus a policy whether all nōn-ASCII codepoints match
+ * or none do. Use with {@link Parser#skip(CharClass)}, which scans the
+ * input with a loop specialised for this class instead of calling a
+ * matcher per character; see {@link Path#ATEXT} and the other constants
+ * there for the classes of the eMail grammar.</p>
+ *
+ * <p>As a {@link ContextlessMatcher}, a {@code CharClass} can be used
+ * wherever a matcher lambda can; it never matches end of input.</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public final class CharClass implements ContextlessMatcher {
+
+/**
+ * Bitmap for U+0000‥U+003F, bit n set if U+00nn is a member.
+ */
+private final long lo;
+/**
+ * Bitmap for U+0040‥U+007F, bit n set if U+0040+n is a member.
+ */
+private final long hi;
+/**
+ * Whether all codepoints ≥ U+0080 are members.
+ */
+private final boolean nonASCII;
+
+/**
+ * The empty class, matching no characters.
+ */
+public static final CharClass NONE = new CharClass(0L, 0L, false);
+
+private CharClass(final long lo, final long hi, final boolean nonASCII)
+{
+	this.lo = lo;
+	this.hi = hi;
+	this.nonASCII = nonASCII;
+}
+
+private static long
+bit(final int c, final int base)
+{
+	return c >= base && c < base + 64 ? 1L << (c - base) : 0L;
+}
+
+/**
+ * Creates a class of the given ASCII characters.
+ *
+ * @param chars members of the class
+ *
+ * @return new class, not matching nōn-ASCII
+ *
+ * @throws IllegalArgumentException if chars contains nōn-ASCII characters
+ */
+public static CharClass
+of(@NonNull final CharSequence chars)
+{
+	long lo = 0L;
+	long hi = 0L;
+	for (int i = 0; i < chars.length(); ++i) {
+		final char c = chars.charAt(i);
+		if (c > 0x7F)
+			throw new IllegalArgumentException(String.format(
+			    "not ASCII: U+%04X", (int)c));
+		lo |= bit(c, 0);
+		hi |= bit(c, 64);
+	}
+	return new CharClass(lo, hi, false);
+}
+
+/**
+ * Creates a class of an ASCII character range.
+ *
+ * @param from first member of the class
+ * @param to   last member of the class (inclusive)
+ *
+ * @return new class, not matching nōn-ASCII
+ *
+ * @throws IllegalArgumentException if the range is empty or not ASCII
+ */
+public static CharClass
+range(final char from, final char to)
+{
+	if (from > to || to > 0x7F)
+		throw new IllegalArgumentException(String.format(
+		    "not an ASCII range: U+%04X‥U+%04X", (int)from, (int)to));
+	long lo = 0L;
+	long hi = 0L;
+	for (int c = from; c <= to; ++c) {
+		lo |= bit(c, 0);
+		hi |= bit(c, 64);
+	}
+	return new CharClass(lo, hi, false);
+}
+
+/**
+ * Creates a class from a flag table such as the one in {@link Path}.
+ *
+ * @param flags classification table for ASCII, indexed by character
+ * @param mask  bits of the table entries that make a member
+ *
+ * @return new class, not matching nōn-ASCII
+ */
+static CharClass
+of(final byte[] flags, final int mask)
+{
+	long lo = 0L;
+	long hi = 0L;
+	for (int c = 0; c < flags.length && c < 128; ++c)
+		if ((flags[c] & mask) != 0) {
+			lo |= bit(c, 0);
+			hi |= bit(c, 64);
+		}
+	return new CharClass(lo, hi, false);
+}
+
+/**
+ * Returns the union of this class and another.
+ *
+ * @param other class to add
+ *
+ * @return class matching what either class matches
+ */
+public CharClass
+union(@NonNull final CharClass other)
+{
+	return new CharClass(lo | other.lo, hi | other.hi,
+	    nonASCII || other.nonASCII);
+}
+
+/**
+ * Returns this class with the given nōn-ASCII policy.
+ *
+ * @param matches whether all codepoints ≥ U+0080 are to match
+ *
+ * @return class with the same ASCII members
+ */
+public CharClass
+withNonASCII(final boolean matches)
+{
+	return matches == nonASCII ? this : new CharClass(lo, hi, matches);
+}
+
+/**
+ * Returns the nōn-ASCII policy of this class.
+ *
+ * @return true if all codepoints ≥ U+0080 match, false if none do
+ */
+public boolean
+matchesNonASCII()
+{
+	return nonASCII;
+}
+
+/**
+ * Checks whether a codepoint is a member of this class.
+ *
+ * @param c codepoint, or {@code -1} for end of input
+ *
+ * @return true if c is a member, false otherwise
+ */
+public boolean
+matches(final int c)
+{
+	if (c < 0)
+		return false;
+	if (c < 64)
+		return (lo & (1L << c)) != 0;
+	if (c < 128)
+		return (hi & (1L << (c - 64))) != 0;
+	return nonASCII;
+}
+
+/**
+ * Same as {@link #matches(int)}, for use as {@link ContextlessMatcher}.
+ *
+ * @param cur the codepoint of the current character
+ *
+ * @return true if cur is a member, false otherwise
+ */
+@Override
+public boolean
+toSkip(final int cur)
+{
+	return matches(cur);
+}
+
+@Override
+public boolean
+equals(final Object o)
+{
+	if (this == o)
+		return true;
+	if (!(o instanceof CharClass))
+		return false;
+	final CharClass other = (CharClass)o;
+	return lo == other.lo && hi == other.hi && nonASCII == other.nonASCII;
+}
+
+@Override
+public int
+hashCode()
+{
+	final long h = lo * 31 + hi;
+	return (int)(h ^ (h >>> 32)) ^ (nonASCII ? 1 : 0);
+}
+
+}
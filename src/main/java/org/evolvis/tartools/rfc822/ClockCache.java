@@ -0,0 +1,255 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>Size-bounded concurrent cache with CLOCK (second chance) eviction,
+ * for memoising the results of validators such as {@link FQDN} for hot
+ * inputs; see {@link FQDN#setCache(ClockCache)}.</p>
+ *
+ * <p>Lookups are lock-free ({@link ConcurrentHashMap}) and only set
+ * the “referenced” bit of the entry found. Insertions are serialised;
+ * when full, the clock hand sweeps the ring of entries, clearing the
+ * bit of referenced entries and evicting the first unreferenced one,
+ * so entries hit since the last sweep survive. Hits, misses and
+ * evictions are counted for monitoring.</p>
+ *
+ * <p>Neither keys nor values may be null; keys must be immutable.</p>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public final class ClockCache<K, V> {
+
+private static final class Entry<K, V> {
+
+	final K key;
+	final V value;
+	volatile boolean referenced;
+
+	Entry(final K key, final V value)
+	{
+		this.key = key;
+		this.value = value;
+	}
+
+}
+
+private final ConcurrentHashMap<K, Entry<K, V>> map;
+/**
+ * Ring of the entries, in insertion order until the first eviction;
+ * only accessed with the lock on {@code this} held.
+ */
+private final Entry<K, V>[] ring;
+/**
+ * Number of ring slots in use; guarded by the lock on {@code this}.
+ */
+private int used = 0;
+/**
+ * Clock hand, index of the next ring slot to inspect for eviction;
+ * guarded by the lock on {@code this}.
+ */
+private int hand = 0;
+
+private final LongAdder hits = new LongAdder();
+private final LongAdder misses = new LongAdder();
+private final LongAdder evictions = new LongAdder();
+
+/**
+ * Creates a new, empty, cache.
+ *
+ * @param capacity maximum number of entries
+ *
+ * @throws IllegalArgumentException if capacity is not positive
+ */
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public ClockCache(final int capacity)
+{
+	if (capacity < 1)
+		throw new IllegalArgumentException("capacity not positive: " + capacity);
+	map = new ConcurrentHashMap<>(capacity + capacity / 3 + 1);
+	ring = (Entry<K, V>[])new Entry[capacity];
+}
+
+/**
+ * Looks up a key, counting a hit or miss.
+ *
+ * @param key to look up
+ *
+ * @return cached value, or null if not cached
+ */
+public V
+get(@NonNull final K key)
+{
+	final Entry<K, V> e = map.get(key);
+	if (e == null) {
+		misses.increment();
+		return null;
+	}
+	// avoid writing the shared cache line if already set
+	if (!e.referenced)
+		e.referenced = true;
+	hits.increment();
+	return e.value;
+}
+
+/**
+ * Looks up a key, computing, caching and returning its value on a miss.
+ * The function is called without holding a lock, so it may be called
+ * more than once for the same key by concurrent threads; it should be
+ * a pure function of the key.
+ *
+ * @param key     to look up
+ * @param compute function calculating the value for the key, not null
+ *
+ * @return cached or computed value
+ */
+public V
+get(@NonNull final K key, @NonNull final Function<? super K, ? extends V> compute)
+{
+	final V cached = get(key);
+	if (cached != null)
+		return cached;
+	final V value = compute.apply(key);
+	put(key, value);
+	return value;
+}
+
+/**
+ * Caches a value for a key, evicting an entry if the cache is full.
+ * If the key is already cached, its value is kept.
+ *
+ * @param key   to cache the value for
+ * @param value to cache
+ */
+public synchronized void
+put(@NonNull final K key, @NonNull final V value)
+{
+	if (map.containsKey(key))
+		return;
+	final int slot;
+	if (used < ring.length)
+		slot = used++;
+	else {
+		while (ring[hand].referenced) {
+			ring[hand].referenced = false;
+			hand = (hand + 1) % ring.length;
+		}
+		map.remove(ring[hand].key);
+		evictions.increment();
+		slot = hand;
+		hand = (hand + 1) % ring.length;
+	}
+	final Entry<K, V> e = new Entry<>(key, value);
+	ring[slot] = e;
+	map.put(key, e);
+}
+
+/**
+ * Removes all entries; the statistics are kept.
+ */
+public synchronized void
+clear()
+{
+	map.clear();
+	Arrays.fill(ring, null);
+	used = 0;
+	hand = 0;
+}
+
+/**
+ * Returns the maximum number of entries.
+ *
+ * @return capacity
+ */
+public int
+capacity()
+{
+	return ring.length;
+}
+
+/**
+ * Returns the current number of entries.
+ *
+ * @return size
+ */
+public int
+size()
+{
+	return map.size();
+}
+
+/**
+ * Returns the number of lookups that found an entry.
+ *
+ * @return hit count
+ */
+public long
+hits()
+{
+	return hits.sum();
+}
+
+/**
+ * Returns the number of lookups that found no entry.
+ *
+ * @return miss count
+ */
+public long
+misses()
+{
+	return misses.sum();
+}
+
+/**
+ * Returns the number of entries evicted to make room for new ones.
+ *
+ * @return eviction count
+ */
+public long
+evictions()
+{
+	return evictions.sum();
+}
+
+/**
+ * Returns the statistics in human-readable form.
+ *
+ * @return String representation
+ */
+@Override
+public String
+toString()
+{
+	return String.format("ClockCache(%d/%d, %d hits, %d misses, %d evictions)",
+	    size(), capacity(), hits(), misses(), evictions());
+}
+
+}
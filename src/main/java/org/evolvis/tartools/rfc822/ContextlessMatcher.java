@@ -35,6 +35,7 @@ import java.util.function.Function;
  *
  * @author mirabilos (t.glaser@qvest-digital.com)
  * @see LookaheadMatcher
+ * @see CharClass
  * @see Function
  */
 @FunctionalInterface
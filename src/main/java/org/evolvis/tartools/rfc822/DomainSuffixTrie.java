@@ -0,0 +1,352 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>Matches domains against a (large) set of exact domains and wildcard
+ * patterns such as {@code *.example.com}, e.g. for allow or deny lists,
+ * returning the value associated with the most specific match.</p>
+ *
+ * <p>Patterns are stored in a trie of their characters in reverse order,
+ * so the input is matched by a single walk from its end, in time linear
+ * in its length, without splitting, copying or lowercasing it; letters
+ * match case-insensitively. The trie is path-compressed (a radix tree):
+ * runs of characters without branches are stored as one label, slices
+ * of a shared character pool, and the edges live in one open-addressing
+ * hash table of primitives, keeping memory use low for many patterns.</p>
+ *
+ * <p>An exact pattern {@code example.com} matches only that domain; a
+ * wildcard pattern {@code *.example.com} matches all its subdomains
+ * ({@code foo.example.com}, {@code a.b.example.com}), but not the domain
+ * itself; {@code *} matches all domains. If several patterns match, the
+ * exact one wins over wildcards, and longer wildcards win over shorter
+ * ones. Input is expected to be a domain in dot-atom form, such as from
+ * {@link FQDN#asDomain(CharSequence)} or the {@code toString()} of the
+ * domain of a {@link Path.AddrSpec}; no further validation is done.</p>
+ *
+ * <p>Not safe for concurrent modification; once filled and safely
+ * published, any number of threads may look up concurrently.</p>
+ *
+ * @param <V> type of the values associated with the patterns
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public final class DomainSuffixTrie<V> {
+
+/**
+ * Edge keys: parent node index shifted left by 8, or’d with the
+ * (lowercased) character; 0 marks an empty slot (characters are
+ * never NUL).
+ */
+private long[] ekey;
+/**
+ * Child node index of each edge.
+ */
+private int[] echild;
+/**
+ * log2 of the edge table size.
+ */
+private int ebits;
+private int edges;
+/**
+ * Value of each node, or null. Nodes are reached by a reversed pattern:
+ * those after a dot belong to a wildcard, all others to an exact pattern.
+ */
+private Object[] value;
+/**
+ * Offset into {@link #pool} of the label of each node, that is, the
+ * characters following the one of the edge leading to it.
+ */
+private int[] loff;
+/**
+ * Length of the label of each node.
+ */
+private int[] llen;
+/**
+ * Labels, lowercased, in matching (reverse) order.
+ */
+private char[] pool;
+private int poolsz;
+private int nodes;
+private int size;
+
+/**
+ * Creates a new, empty, matcher.
+ */
+public DomainSuffixTrie()
+{
+	ebits = 10;
+	ekey = new long[1 << ebits];
+	echild = new int[1 << ebits];
+	value = new Object[256];
+	loff = new int[256];
+	llen = new int[256];
+	pool = new char[1024];
+	// root node
+	nodes = 1;
+}
+
+private static int
+lower(final char c)
+{
+	return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+}
+
+private static int
+slot(final long key, final int bits)
+{
+	return (int)((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+}
+
+/**
+ * Returns the edge table slot of an edge.
+ *
+ * @param n parent node
+ * @param c lowercased first character
+ *
+ * @return slot, or -1 if there is no such edge
+ */
+private int
+edge(final int n, final int c)
+{
+	final long key = ((long)n << 8) | c;
+	final int m = ekey.length - 1;
+	for (int i = slot(key, ebits); ekey[i] != 0L; i = (i + 1) & m)
+		if (ekey[i] == key)
+			return i;
+	return -1;
+}
+
+private static void
+insert(final long[] keys, final int[] children, final int bits,
+    final long key, final int c)
+{
+	final int m = keys.length - 1;
+	int i = slot(key, bits);
+	while (keys[i] != 0L)
+		i = (i + 1) & m;
+	keys[i] = key;
+	children[i] = c;
+}
+
+private void
+addEdge(final int n, final int c, final int child)
+{
+	// keep the load factor below ⅔
+	if (3 * (edges + 1) > 2 * ekey.length) {
+		final int bits = ebits + 1;
+		final long[] keys = new long[1 << bits];
+		final int[] children = new int[1 << bits];
+		for (int i = 0; i < ekey.length; ++i)
+			if (ekey[i] != 0L)
+				insert(keys, children, bits, ekey[i], echild[i]);
+		ekey = keys;
+		echild = children;
+		ebits = bits;
+	}
+	insert(ekey, echild, ebits, ((long)n << 8) | c, child);
+	++edges;
+}
+
+private int
+addNode(final int off, final int len)
+{
+	if (nodes == value.length) {
+		value = Arrays.copyOf(value, nodes * 2);
+		loff = Arrays.copyOf(loff, nodes * 2);
+		llen = Arrays.copyOf(llen, nodes * 2);
+	}
+	loff[nodes] = off;
+	llen[nodes] = len;
+	return nodes++;
+}
+
+/**
+ * Associates a value with a pattern, replacing the value of an equal
+ * pattern (ignoring case).
+ *
+ * @param pattern domain ({@code example.com}), wildcard for its
+ *                subdomains ({@code *.example.com}) or {@code *}
+ * @param v       value to associate with the pattern
+ *
+ * @return false if the pattern is not a valid domain or wildcard
+ *     (see {@link FQDN#isDomain(CharSequence)}), true otherwise
+ */
+public boolean
+add(@NonNull final CharSequence pattern, @NonNull final V v)
+{
+	final int len = pattern.length();
+	int beg = 0;
+	if (len >= 1 && pattern.charAt(0) == '*') {
+		if (len == 1) {
+			// root: all domains
+			put(0, v);
+			return true;
+		}
+		if (pattern.charAt(1) != '.')
+			return false;
+		// keep the dot: wildcard nodes follow one
+		beg = 1;
+	}
+	if (!FQDN.isDomain(pattern, beg == 0 ? 0 : 2, len))
+		return false;
+	int n = 0;
+	int i = len - 1;
+	while (i >= beg) {
+		final int c = lower(pattern.charAt(i--));
+		final int e = edge(n, c);
+		if (e == -1) {
+			// new leaf, labelled with the rest of the pattern
+			if (poolsz + i + 1 - beg > pool.length)
+				pool = Arrays.copyOf(pool, Math.max(pool.length * 2,
+				    poolsz + i + 1 - beg));
+			final int off = poolsz;
+			while (i >= beg)
+				pool[poolsz++] = (char)lower(pattern.charAt(i--));
+			final int leaf = addNode(off, poolsz - off);
+			addEdge(n, c, leaf);
+			n = leaf;
+			break;
+		}
+		final int ch = echild[e];
+		final int off = loff[ch];
+		final int l = llen[ch];
+		int k = 0;
+		while (k < l && i >= beg && pool[off + k] == lower(pattern.charAt(i))) {
+			++k;
+			--i;
+		}
+		if (k == l) {
+			n = ch;
+			continue;
+		}
+		// split the label of ch after k characters
+		final int m = addNode(off, k);
+		echild[e] = m;
+		loff[ch] = off + k + 1;
+		llen[ch] = l - k - 1;
+		addEdge(m, pool[off + k], ch);
+		n = m;
+	}
+	put(n, v);
+	return true;
+}
+
+private void
+put(final int n, final Object v)
+{
+	if (value[n] == null)
+		++size;
+	value[n] = v;
+}
+
+/**
+ * Finds the value of the most specific pattern matching a domain.
+ * Does not allocate.
+ *
+ * @param domain to look up
+ *
+ * @return value, or null if no pattern matches (or domain is null)
+ */
+public V
+match(final CharSequence domain)
+{
+	return domain == null ? null : match(domain, 0, domain.length());
+}
+
+/**
+ * Finds the value of the most specific pattern matching a range of the
+ * input, such as the domain of an eMail address within a header value.
+ * Does not allocate.
+ *
+ * @param domain to look up
+ * @param beg    offset of the first character of the domain
+ * @param end    offset after the last character of the domain
+ *
+ * @return value, or null if no pattern matches
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+@SuppressWarnings("unchecked")
+public V
+match(@NonNull final CharSequence domain, final int beg, final int end)
+{
+	if (beg > end || beg < 0 || end > domain.length())
+		throw new IndexOutOfBoundsException(String.format(
+		    "range [%d, %d) not within [0, %d)", beg, end, domain.length()));
+	if (beg == end)
+		return null;
+	// most specific wildcard so far
+	Object wild = value[0];
+	int n = 0;
+	int i = end - 1;
+	while (i >= beg) {
+		final char c = domain.charAt(i--);
+		final int e = c > 0x7F ? -1 : edge(n, lower(c));
+		if (e == -1)
+			return (V)wild;
+		n = echild[e];
+		final int off = loff[n];
+		final int l = llen[n];
+		for (int k = 0; k < l; ++k, --i)
+			if (i < beg || domain.charAt(i) > 0x7F ||
+			    pool[off + k] != lower(domain.charAt(i)))
+				return (V)wild;
+		// wildcard nodes follow a dot and need a label before it
+		if (value[n] != null && i >= beg && domain.charAt(i + 1) == '.')
+			wild = value[n];
+	}
+	// all consumed: exact match, unless ending in a dot
+	return value[n] != null && domain.charAt(beg) != '.' ?
+	    (V)value[n] : (V)wild;
+}
+
+/**
+ * Finds the value of the most specific pattern matching the domain of an
+ * {@code addr-spec}; addresses with a domain literal never match.
+ *
+ * @param addrSpec whose domain to look up
+ *
+ * @return value, or null if no pattern matches
+ */
+public V
+match(@NonNull final Path.AddrSpec addrSpec)
+{
+	final Object domain = addrSpec.getDomain().getData();
+	return domain instanceof String ? match((String)domain) : null;
+}
+
+/**
+ * Returns the number of patterns with a value.
+ *
+ * @return number of patterns
+ */
+public int
+size()
+{
+	return size;
+}
+
+}
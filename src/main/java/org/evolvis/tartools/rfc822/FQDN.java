@@ -23,14 +23,19 @@ package org.evolvis.tartools.rfc822;
 /**
  * <p>Represents an FQDN (“domain” production) for use in eMail.</p>
  *
- * <p>The main entry points are the {@link #isDomain(String)} and
- * {@link #asDomain(String)} methods.
+ * <p>The main entry points are the {@link #isDomain(CharSequence)} and
+ * {@link #asDomain(CharSequence)} methods.
  * The parser does not trim surrounding whitespace by itself.</p>
  *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 public class FQDN extends Parser {
 
+/**
+ * Optional cache for the static validators, see {@link #setCache(ClockCache)}.
+ */
+private static volatile ClockCache<String, Boolean> cache = null;
+
 /**
  * Creates and initialises a new parser for Fully-Qualified Domain Names.
  *
@@ -40,17 +45,146 @@ public class FQDN extends Parser {
  *     the new parser instance otherwise
  */
 public static FQDN
-of(final String hostname)
+of(final CharSequence hostname)
+{
+	return Parser.of(FQDN::new, hostname);
+}
+
+/**
+ * Creates and initialises a new parser for a range of the input.
+ *
+ * @param hostname to parse
+ * @param beg      offset of the first character of the range to parse
+ * @param end      offset after the last character of the range to parse
+ *
+ * @return null if {@code hostname} was null or longer than 253 characters,
+ *     the new parser instance otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ * @see #of(CharSequence)
+ */
+public static FQDN
+of(final CharSequence hostname, final int beg, final int end)
+{
+	return Parser.of(FQDN::new, hostname, beg, end);
+}
+
+private static final ThreadLocal<FQDN> THREAD_PARSER =
+    ThreadLocal.withInitial(() -> new FQDN(null));
+/**
+ * Separate instance for the static methods so they do not reinitialise
+ * a parser the caller obtained from {@link #forThread(CharSequence)}.
+ */
+private static final ThreadLocal<FQDN> STATIC_PARSER =
+    ThreadLocal.withInitial(() -> new FQDN(null));
+
+/**
+ * <p>Returns the parser instance confined to the calling thread,
+ * reinitialised for the given input; see {@link #reset(CharSequence)}.</p>
+ *
+ * <p>The instance must not be passed to other threads, and it is
+ * reinitialised by every subsequent call from the same thread.</p>
+ *
+ * @param hostname to parse
+ *
+ * @return null if {@code hostname} was null or longer than 253 characters,
+ *     the calling thread’s parser instance otherwise
+ */
+public static FQDN
+forThread(final CharSequence hostname)
 {
-	return Parser.of(FQDN.class, hostname);
+	return THREAD_PARSER.get().reset(hostname);
 }
 
 /**
- * Private constructor. Use the factory method {@link #of(String)} instead.
+ * Returns the parser instance confined to the calling thread,
+ * reinitialised for a range of the given input.
+ *
+ * @param hostname to parse
+ * @param beg      offset of the first character of the range to parse
+ * @param end      offset after the last character of the range to parse
+ *
+ * @return null if {@code hostname} was null or longer than 253 characters,
+ *     the calling thread’s parser instance otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ * @see #forThread(CharSequence)
+ */
+public static FQDN
+forThread(final CharSequence hostname, final int beg, final int end)
+{
+	return THREAD_PARSER.get().reset(hostname, beg, end);
+}
+
+/**
+ * Reinitialises this parser instance for reuse with new input.
+ *
+ * @param hostname to parse
+ *
+ * @return null if {@code hostname} was null or longer than 253 characters
+ *     (the parser then cannot be used until reset again), this otherwise
+ */
+public FQDN
+reset(final CharSequence hostname)
+{
+	return init(hostname) ? this : null;
+}
+
+/**
+ * Reinitialises this parser instance for reuse with a range of new input.
+ *
+ * @param hostname to parse
+ * @param beg      offset of the first character of the range to parse
+ * @param end      offset after the last character of the range to parse
+ *
+ * @return null if {@code hostname} was null or longer than 253 characters
+ *     (the parser then cannot be used until reset again), this otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public FQDN
+reset(final CharSequence hostname, final int beg, final int end)
+{
+	return init(hostname, beg, end) ? this : null;
+}
+
+/**
+ * <p>Sets (or, with null, removes) a cache for the results of the static
+ * {@link #isDomain(CharSequence)} and {@link #isDomain(CharSequence, int, int)}
+ * methods, which also validate the domains of eMail addresses parsed by
+ * {@link Path} and {@link UXAddress}. It is keyed by the lowercased domain
+ * and remembers whether it is valid; as real-world traffic often repeats
+ * a few domains, these then do not need to be validated again, at the cost
+ * of copying each domain for the lookup. No cache is used by default.</p>
+ *
+ * <p>The cache is shared by all threads and may be queried for hit and
+ * miss statistics via {@link #getCache()}.</p>
+ *
+ * @param newCache cache to use from now on, or null to not cache
+ */
+public static void
+setCache(final ClockCache<String, Boolean> newCache)
+{
+	cache = newCache;
+}
+
+/**
+ * Returns the cache set by {@link #setCache(ClockCache)}.
+ *
+ * @return cache currently in use, or null if none
+ */
+public static ClockCache<String, Boolean>
+getCache()
+{
+	return cache;
+}
+
+/**
+ * Private constructor. Use the factory method {@link #of(CharSequence)} instead.
  *
  * @param input string to analyse
  */
-protected FQDN(final String input)
+protected FQDN(final CharSequence input)
 {
 	super(input, /* see isDomain() javadoc */ 253);
 }
@@ -116,9 +250,72 @@ isDomain()
  * @return true if {@code hostname} is valid, false otherwise
  */
 public static boolean
-isDomain(final String hostname)
+isDomain(final CharSequence hostname)
 {
-	final FQDN parser = of(hostname);
+	return hostname != null && isDomain(hostname, 0, hostname.length());
+}
+
+/**
+ * <p>Checks if a range of the input, such as a header value part within
+ * a buffer, is a valid Fully-Qualified Domain Name; see
+ * {@link #isDomain(CharSequence)} for the rules.</p>
+ *
+ * @param hostname to check
+ * @param beg      offset of the first character of the range to check
+ * @param end      offset after the last character of the range to check
+ *
+ * @return true if the range of {@code hostname} is valid, false otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public static boolean
+isDomain(final CharSequence hostname, final int beg, final int end)
+{
+	final ClockCache<String, Boolean> c = cache;
+	final String key = c != null && hostname != null && end - beg <= 253 ?
+	    cacheKey(hostname, beg, end) : null;
+	if (key != null)
+		return c.get(key, FQDN::isDomainUncached);
+	final FQDN parser = STATIC_PARSER.get().reset(hostname, beg, end);
+	return parser != null && parser.isDomain();
+}
+
+/**
+ * Returns the cache key for a range of the input: a copy with ASCII
+ * letters lowercased, so it validates the same as the original; other
+ * case folding could map nōn-ASCII to ASCII (e.g. U+212A KELVIN SIGN
+ * to ‘k’), so input with nōn-ASCII characters (all invalid) is not
+ * cached.
+ *
+ * @param hostname to check
+ * @param beg      offset of the first character of the range to check
+ * @param end      offset after the last character of the range to check
+ *
+ * @return key, or null if the range is not all ASCII
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+private static String
+cacheKey(final CharSequence hostname, final int beg, final int end)
+{
+	if (beg < 0 || end < beg || end > hostname.length())
+		throw new IndexOutOfBoundsException(String.format(BOUNDS_RANGE,
+		    beg, end, hostname.length()));
+	final char[] buf = new char[end - beg];
+	for (int i = beg; i < end; ++i) {
+		final char ch = hostname.charAt(i);
+		if (ch > 0x7F)
+			return null;
+		buf[i - beg] = ch >= 'A' && ch <= 'Z' ?
+		    (char)(ch + ('a' - 'A')) : ch;
+	}
+	return new String(buf);
+}
+
+private static Boolean
+isDomainUncached(final String hostname)
+{
+	final FQDN parser = STATIC_PARSER.get().reset(hostname);
 	return parser != null && parser.isDomain();
 }
 
@@ -147,20 +344,15 @@ isDomain(final String hostname)
  * @return dot-atom form of {@code hostname} if valid, null otherwise
  */
 public static String
-asDomain(final String hostname)
-{
-	final String dn = stripTrailingDot(hostname);
-	final FQDN parser = of(dn);
-	return parser != null && parser.isDomain() ? dn : null;
-}
-
-private static String
-stripTrailingDot(final String s)
+asDomain(final CharSequence hostname)
 {
-	final int len;
-	if (s == null || (len = s.length()) < 1 || s.charAt(len - 1) != '.')
-		return s;
-	return s.substring(0, len - 1);
+	if (hostname == null)
+		return null;
+	int len = hostname.length();
+	if (len > 0 && hostname.charAt(len - 1) == '.')
+		--len;
+	final FQDN parser = STATIC_PARSER.get().reset(hostname, 0, len);
+	return parser != null && parser.isDomain() ? parser.s() : null;
 }
 
 }
@@ -27,15 +27,16 @@ import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * <p>Represents an IP address (including Legacy IP) for use in eMail on
  * the public Internet (no scoped addresses / IPv6 Zone ID).</p>
  *
- * <p>The main entry points are either the {@link #from(String)} method or
- * both the {@link #v6(String)} and {@link #v4(String)} methods.
+ * <p>The main entry points are either the {@link #from(CharSequence)} method or
+ * both the {@link #v6(CharSequence)} and {@link #v4(CharSequence)} methods.
+ * For high volumes, {@link #value(CharSequence)} returns a {@link Value}
+ * instead of an {@link InetAddress}, and {@link #isV6(CharSequence, int, int)}
+ * and {@link #isV4(CharSequence, int, int)} validate without allocating.
  * The parser does not trim surrounding whitespace by itself.</p>
  *
  * @author mirabilos (t.glaser@qvest-digital.com)
@@ -53,21 +54,140 @@ public class IPAddress extends Parser {
  *     the new parser instance otherwise
  */
 public static IPAddress
-of(final String address)
+of(final CharSequence address)
 {
-	return Parser.of(IPAddress.class, address);
+	return Parser.of(IPAddress::new, address);
 }
 
 /**
- * Private constructor. Use the factory method {@link #of(String)} instead.
+ * Creates and initialises a new parser for a range of the input.
+ *
+ * @param address to parse
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ *
+ * @return null if {@code address} was null or much too large,
+ *     the new parser instance otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ * @see #of(CharSequence)
+ */
+public static IPAddress
+of(final CharSequence address, final int beg, final int end)
+{
+	return Parser.of(IPAddress::new, address, beg, end);
+}
+
+private static final ThreadLocal<IPAddress> THREAD_PARSER =
+    ThreadLocal.withInitial(() -> new IPAddress(null));
+/**
+ * Separate instance for the static methods so they do not reinitialise
+ * a parser the caller obtained from {@link #forThread(CharSequence)}.
+ */
+private static final ThreadLocal<IPAddress> STATIC_PARSER =
+    ThreadLocal.withInitial(() -> new IPAddress(null));
+
+/**
+ * <p>Returns the parser instance confined to the calling thread,
+ * reinitialised for the given input; see {@link #reset(CharSequence)}.</p>
+ *
+ * <p>The instance must not be passed to other threads, and it is
+ * reinitialised by every subsequent call from the same thread.</p>
+ *
+ * @param address to parse (protocol depends on parser method called)
+ *
+ * @return null if {@code address} was null or much too large,
+ *     the calling thread’s parser instance otherwise
+ */
+public static IPAddress
+forThread(final CharSequence address)
+{
+	return THREAD_PARSER.get().reset(address);
+}
+
+/**
+ * Returns the parser instance confined to the calling thread,
+ * reinitialised for a range of the given input.
+ *
+ * @param address to parse
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ *
+ * @return null if {@code address} was null or much too large,
+ *     the calling thread’s parser instance otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ * @see #forThread(CharSequence)
+ */
+public static IPAddress
+forThread(final CharSequence address, final int beg, final int end)
+{
+	return THREAD_PARSER.get().reset(address, beg, end);
+}
+
+/**
+ * Reinitialises this parser instance for reuse with new input.
+ *
+ * @param address to parse (protocol depends on parser method called)
+ *
+ * @return null if {@code address} was null or much too large (the parser
+ *     then cannot be used until reset again), this parser otherwise
+ */
+public IPAddress
+reset(final CharSequence address)
+{
+	return init(address) ? this : null;
+}
+
+/**
+ * Reinitialises this parser instance for reuse with a range of new input.
+ *
+ * @param address to parse
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ *
+ * @return null if {@code address} was null or much too large
+ *     (the parser then cannot be used until reset again), this otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public IPAddress
+reset(final CharSequence address, final int beg, final int end)
+{
+	return init(address, beg, end) ? this : null;
+}
+
+/**
+ * Private constructor. Use the factory method {@link #of(CharSequence)} instead.
  *
  * @param input string to analyse
  */
-protected IPAddress(final String input)
+protected IPAddress(final CharSequence input)
 {
 	super(input, /* probably 45 */ 64);
 }
 
+/**
+ * Hextets collected by {@link #pIPv6()}.
+ */
+private final int[] hx = new int[8];
+/**
+ * Number of hextets in {@link #hx}.
+ */
+private int nhx;
+/**
+ * Legacy IP address parsed by {@link #pIPv4()}.
+ */
+private int pv4;
+/**
+ * Upper 64 bits of the IP address parsed by {@link #pIPv6()}.
+ */
+private long pv6hi;
+/**
+ * Lower 64 bits of the IP address parsed by {@link #pIPv6()}.
+ */
+private long pv6lo;
+
 @SneakyThrows(UnknownHostException.class)
 // ↑ coverage: https://groups.google.com/g/project-lombok/c/EZGrE1m2x_M/m/-ECl6IUVAQAJ
 private InetAddress
@@ -79,6 +199,47 @@ toAddress(final byte[] addr)
 	return InetAddress.getByAddress(s(), addr);
 }
 
+/**
+ * Parses the entire input as IPv6 address, see {@link #asIPv6Address()}.
+ *
+ * @return true if valid, with the address in {@link #pv6hi}/{@link #pv6lo}
+ */
+private boolean
+isV6()
+{
+	jmp(0);
+	return pIPv6() && cur() == -1;
+}
+
+/**
+ * Parses the entire input as IPv4 address, see {@link #asIPv4Address()}.
+ *
+ * @return true if valid, with the address in {@link #pv4}
+ */
+private boolean
+isV4()
+{
+	jmp(0);
+	return pIPv4() && cur() == -1;
+}
+
+/**
+ * Determines which of {@link #isV6()} and {@link #isV4()} can succeed:
+ * an IPv6 address has a colon within its first five characters (at
+ * most four hex digits precede it), whereas IPv4 addresses have none.
+ *
+ * @return true if the input can only be IPv6, false if only IPv4
+ */
+private boolean
+looksLikeV6()
+{
+	final int n = Math.min(length(), 5);
+	for (int i = 0; i < n; ++i)
+		if (charAt(i) == ':')
+			return true;
+	return false;
+}
+
 /**
  * <p>Parses the given address as IP address (IPv6), excluding Zone ID (scope).</p>
  *
@@ -95,14 +256,13 @@ toAddress(final byte[] addr)
  * @return {@link InetAddress} representing the address,
  *     or null on failure (including if an IPv4 address is passed)
  *
- * @see #v6(String)
- * @see #from(String)
+ * @see #v6(CharSequence)
+ * @see #from(CharSequence)
  */
 public InetAddress
 asIPv6Address()
 {
-	jmp(0);
-	return toAddress(pIPv6Address());
+	return isV6() ? toAddress(Value.bytes(pv6hi, pv6lo)) : null;
 }
 
 /**
@@ -114,14 +274,76 @@ asIPv6Address()
  * @return {@link InetAddress} representing the address,
  *     or null on failure (including if an IPv6 address is passed)
  *
- * @see #v4(String)
- * @see #from(String)
+ * @see #v4(CharSequence)
+ * @see #from(CharSequence)
  */
 public InetAddress
 asIPv4Address()
 {
-	jmp(0);
-	return toAddress(pIPv4Address());
+	return isV4() ? toAddress(Value.bytes(pv4)) : null;
+}
+
+/**
+ * <p>Parses the given address as IP address (IPv6 without Zone ID, or
+ * Legacy IP), deciding which to parse as after looking at most five
+ * characters, into a {@link Value}, without constructing an
+ * {@link InetAddress}.</p>
+ *
+ * @return {@link Value} representing the address, or null on failure
+ *
+ * @see #value(CharSequence)
+ */
+public Value
+asValue()
+{
+	switch (parseValue()) {
+	case 4:
+		return new Value(pv6hi, pv6lo, true);
+	case 6:
+		return new Value(pv6hi, pv6lo, false);
+	default:
+		return null;
+	}
+}
+
+/**
+ * Same as {@link #asValue()} but without allocating: the address,
+ * Legacy IP as v4-mapped, is left in {@link #pv6hi} and {@link #pv6lo}.
+ *
+ * @return 4 for Legacy IP, 6 for IP, 0 on failure
+ */
+int
+parseValue()
+{
+	if (looksLikeV6())
+		return isV6() ? 6 : 0;
+	if (!isV4())
+		return 0;
+	pv6hi = 0L;
+	pv6lo = Value.V4MAPPED | (pv4 & 0xFFFFFFFFL);
+	return 4;
+}
+
+/**
+ * Returns the upper half of the address after {@link #parseValue()}.
+ *
+ * @return upper 64 bits
+ */
+long
+valueHigh()
+{
+	return pv6hi;
+}
+
+/**
+ * Returns the lower half of the address after {@link #parseValue()}.
+ *
+ * @return lower 64 bits
+ */
+long
+valueLow()
+{
+	return pv6lo;
 }
 
 /**
@@ -142,14 +364,14 @@ asIPv4Address()
  * @return {@link InetAddress} representing the {@code address} string,
  *     or null on failure (including if an IPv4 address is passed)
  *
- * @see #of(String)
+ * @see #of(CharSequence)
  * @see #asIPv6Address()
- * @see #from(String)
+ * @see #from(CharSequence)
  */
 public static InetAddress
-v6(final String address)
+v6(final CharSequence address)
 {
-	val p = of(address);
+	val p = STATIC_PARSER.get().reset(address);
 	return p == null ? null : p.asIPv6Address();
 }
 
@@ -164,14 +386,54 @@ v6(final String address)
  * @return {@link InetAddress} representing the {@code address} string,
  *     or null on failure (including if an IPv6 address is passed)
  *
- * @see #of(String)
+ * @see #of(CharSequence)
  * @see #asIPv4Address()
- * @see #from(String)
+ * @see #from(CharSequence)
+ */
+public static InetAddress
+v4(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? null : p.asIPv4Address();
+}
+
+/**
+ * Parses a range of the input, such as part of a domain literal,
+ * as IP address (IPv6); see {@link #v6(CharSequence)}.
+ *
+ * @param address to parse as IPv6 address
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ *
+ * @return {@link InetAddress} representing the range of {@code address},
+ *     or null on failure (including if an IPv4 address is passed)
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public static InetAddress
+v6(final CharSequence address, final int beg, final int end)
+{
+	val p = STATIC_PARSER.get().reset(address, beg, end);
+	return p == null ? null : p.asIPv6Address();
+}
+
+/**
+ * Parses a range of the input, such as part of a domain literal,
+ * as Legacy IP address (IPv4); see {@link #v4(CharSequence)}.
+ *
+ * @param address to parse as IPv4 address
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ *
+ * @return {@link InetAddress} representing the range of {@code address},
+ *     or null on failure (including if an IPv6 address is passed)
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
  */
 public static InetAddress
-v4(final String address)
+v4(final CharSequence address, final int beg, final int end)
 {
-	val p = of(address);
+	val p = STATIC_PARSER.get().reset(address, beg, end);
 	return p == null ? null : p.asIPv4Address();
 }
 
@@ -191,17 +453,110 @@ v4(final String address)
  *
  * @return {@link InetAddress} representing {@code address}, or null on failure
  *
- * @see #v6(String)
- * @see #v4(String)
+ * @see #v6(CharSequence)
+ * @see #v4(CharSequence)
  */
 public static InetAddress
-from(final String address)
+from(final CharSequence address)
 {
-	val p = of(address);
+	val p = STATIC_PARSER.get().reset(address);
 	if (p == null)
 		return null;
-	val a6 = p.asIPv6Address();
-	return a6 == null ? p.asIPv4Address() : a6;
+	return p.looksLikeV6() ? p.asIPv6Address() : p.asIPv4Address();
+}
+
+/**
+ * <p>Parses the passed string as IP address (IPv6 without Zone ID, or
+ * Legacy IP) in one pass, into an immutable {@link Value} instead of
+ * an {@link InetAddress}: no name lookup, byte array or boxing, and,
+ * unlike with the latter, {@link Value#isV4()} tells which kind of
+ * address was passed, even for v4-mapped IPv6 addresses.</p>
+ *
+ * @param address to parse
+ *
+ * @return {@link Value} representing {@code address}, or null on failure
+ *
+ * @see #from(CharSequence)
+ */
+public static Value
+value(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? null : p.asValue();
+}
+
+/**
+ * Parses a range of the input as IP address; see {@link #value(CharSequence)}.
+ *
+ * @param address to parse
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ *
+ * @return {@link Value} representing the range of {@code address},
+ *     or null on failure
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public static Value
+value(final CharSequence address, final int beg, final int end)
+{
+	val p = STATIC_PARSER.get().reset(address, beg, end);
+	return p == null ? null : p.asValue();
+}
+
+/**
+ * Returns the parser instance for static methods, for use with
+ * {@link #parseValue()} by other classes of this package.
+ *
+ * @param address to parse
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ *
+ * @return null if {@code address} was null or much too large,
+ *     the calling thread’s static parser instance otherwise
+ */
+static IPAddress
+staticParser(final CharSequence address, final int beg, final int end)
+{
+	return STATIC_PARSER.get().reset(address, beg, end);
+}
+
+/**
+ * Checks whether a range of the input, such as part of a domain literal,
+ * is a valid IP address (IPv6, without Zone ID), without allocating.
+ *
+ * @param address to check
+ * @param beg     offset of the first character of the range to check
+ * @param end     offset after the last character of the range to check
+ *
+ * @return true if {@link #v6(CharSequence, int, int)} would succeed
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public static boolean
+isV6(final CharSequence address, final int beg, final int end)
+{
+	val p = STATIC_PARSER.get().reset(address, beg, end);
+	return p != null && p.isV6();
+}
+
+/**
+ * Checks whether a range of the input, such as part of a domain literal,
+ * is a valid Legacy IP address (IPv4), without allocating.
+ *
+ * @param address to check
+ * @param beg     offset of the first character of the range to check
+ * @param end     offset after the last character of the range to check
+ *
+ * @return true if {@link #v4(CharSequence, int, int)} would succeed
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public static boolean
+isV4(final CharSequence address, final int beg, final int end)
+{
+	val p = STATIC_PARSER.get().reset(address, beg, end);
+	return p != null && p.isV4();
 }
 
 private static boolean
@@ -210,89 +565,115 @@ dec(final int c, final int limit)
 	return c >= '0' && c <= limit;
 }
 
+/**
+ * Parses a Legacy IP address at the current position.
+ *
+ * @return true if one was parsed, with the address in {@link #pv4}
+ */
 @SuppressWarnings("squid:SwitchLastCaseIsDefaultCheck")
-protected byte[]
-pIPv4Address()
+protected boolean
+pIPv4()
 {
-	try (val ofs = new Parser.Txn()) {
-		byte[] addr = new byte[4];
-		for (int a = 0; a < addr.length; ++a) {
-			if (a > 0) {
-				if (cur() != '.')
-					return null;
-				accept();
-			}
-			final int b1 = cur();
-			final int b2 = peek();
-			int l2 = '9';
-			int l3 = '9';
-			switch (b1) {
-			case '2':
-				l2 = '5';
-				if (b2 == '5')
-					l3 = '5';
-				/* FALLTHROUGH */
-			case '1':
-				if (dec(b2, l2)) {
-					int v = Character.digit(b1, 10) * 10 +
-					    Character.digit(b2, 10);
-					final int b3 = bra(2);
-					if (dec(b3, l3)) {
-						v = v * 10 + Character.digit(b3, 10);
-						accept();
-					}
-					addr[a] = (byte)v;
-					continue;
+	// not Parser.Txn, to not allocate in the validators
+	final int beg = pos();
+	int addr = 0;
+	for (int a = 0; a < 4; ++a) {
+		if (a > 0) {
+			if (cur() != '.')
+				return fail(beg);
+			accept();
+		}
+		final int b1 = cur();
+		final int b2 = peek();
+		int l2 = '9';
+		int l3 = '9';
+		switch (b1) {
+		case '2':
+			l2 = '5';
+			if (b2 == '5')
+				l3 = '5';
+			/* FALLTHROUGH */
+		case '1':
+			if (dec(b2, l2)) {
+				int v = (b1 - '0') * 10 + (b2 - '0');
+				final int b3 = bra(2);
+				if (dec(b3, l3)) {
+					v = v * 10 + (b3 - '0');
+					accept();
 				}
-				break;
-			case '0':
-				addr[a] = (byte)0;
-				accept();
+				addr = (addr << 8) | v;
 				continue;
 			}
-			if (!dec(b1, '9'))
-				return null;
-			int v = Character.digit(b1, 10);
+			break;
+		case '0':
+			addr <<= 8;
 			accept();
-			if (dec(b2, '9')) {
-				v = v * 10 + Character.digit(b2, 10);
-				accept();
-			}
-			addr[a] = (byte)v;
+			continue;
 		}
-		return ofs.accept(addr);
+		if (!dec(b1, '9'))
+			return fail(beg);
+		int v = b1 - '0';
+		accept();
+		if (dec(b2, '9')) {
+			v = v * 10 + (b2 - '0');
+			accept();
+		}
+		addr = (addr << 8) | v;
 	}
+	pv4 = addr;
+	return true;
+}
+
+/**
+ * Rolls back a failed production.
+ *
+ * @param beg position to return to
+ *
+ * @return false
+ */
+private boolean
+fail(final int beg)
+{
+	jmp(beg);
+	return false;
+}
+
+/**
+ * Parses a Legacy IP address at the current position.
+ *
+ * @return the address in network byte order, or null
+ */
+protected byte[]
+pIPv4Address()
+{
+	return pIPv4() ? Value.bytes(pv4) : null;
 }
 
 /**
  * <p>Checks for h16 or possibly an IPv4 address (ls32 production). This method
- * solely exists because Sonar otherwise thinks {@link #pIPv6Address()} too
+ * solely exists because Sonar otherwise thinks {@link #pIPv6()} too
  * complex for the feeble minds of Java™ programmers…</p>
  *
  * <p>It checks whether the current char can be an h32 or IPv4 address (xdigit);
  * if not, or if {@code ls32} indicates we should check for IPv4 addresses and
  * there indeed is one, i.e. when further parsing should be stopped, it returns
- * true; otherwise, the parsed h16 is added to {@code dst} then false is returned
+ * true; otherwise, the parsed h16 is added to {@link #hx} then false is returned
  * to indicate parsing should continue.</p>
  *
- * @param dst  collecting h16s
  * @param ls32 whether an IPv4 address is allowed here
  *
  * @return whether parsing should stop
  */
 private boolean
-h16OrIPv4(final List<Integer> dst, final boolean ls32)
+h16OrIPv4(final boolean ls32)
 {
 	if (!Path.is(cur(), Path.IS_XDIGIT)) {
 		return true;
 	}
-	if (ls32) {
-		final byte[] v4 = pIPv4Address();
-		if (v4 != null) {
-			dst.add((v4[0] << 8) | (v4[1] & 0xFF));
-			dst.add((v4[2] << 8) | (v4[3] & 0xFF));
-			return true;
-		}
+	if (ls32 && pIPv4()) {
+		hx[nhx++] = pv4 >>> 16;
+		hx[nhx++] = pv4 & 0xFFFF;
+		return true;
 	}
 
 	int x = 0;
@@ -302,76 +683,314 @@ h16OrIPv4(final List<Integer> dst, final boolean ls32)
 		x = (x << 4) + Character.digit(cur(), 16);
 		accept();
 	}
-	dst.add(x);
+	hx[nhx++] = x;
 	return false;
 }
 
-private static byte[]
-rtnIPv6Address(final Parser.Txn txn, final List<Integer> h16s,
-    final List<Integer> afterDoubleColon)
+private boolean
+rtnIPv6(final int beg, final int beforeDoubleColon)
 {
-	if (afterDoubleColon != null) {
+	if (beforeDoubleColon != -1) {
 		// stuff the double colon
-		final int afters = afterDoubleColon.size();
-		while (h16s.size() + afters < 8)
-			h16s.add(0);
-		h16s.addAll(afterDoubleColon);
+		final int afters = nhx - beforeDoubleColon;
+		System.arraycopy(hx, beforeDoubleColon, hx, 8 - afters, afters);
+		for (int i = beforeDoubleColon; i < 8 - afters; ++i)
+			hx[i] = 0;
+		nhx = 8;
 	}
 
-	if (h16s.size() != 8)
-		return null;
-	txn.commit();
+	if (nhx != 8)
+		return fail(beg);
 
-	final byte[] addr = new byte[16];
-	for (int i = 0; i < 8; ++i) {
-		final int v = h16s.get(i);
-		addr[i * 2] = (byte)(v >>> 8);
-		addr[i * 2 + 1] = (byte)(v & 0xFF);
+	pv6hi = ((long)hx[0] << 48) | ((long)hx[1] << 32) |
+	    ((long)hx[2] << 16) | hx[3];
+	pv6lo = ((long)hx[4] << 48) | ((long)hx[5] << 32) |
+	    ((long)hx[6] << 16) | hx[7];
+	return true;
+}
+
+/**
+ * Parses an IP address (IPv6) at the current position.
+ *
+ * @return true if one was parsed, with the address in {@link #pv6hi}
+ *     and {@link #pv6lo}
+ */
+protected boolean
+pIPv6()
+{
+	// not Parser.Txn, to not allocate in the validators
+	final int beg = pos();
+	nhx = 0;
+	boolean hasDoubleColon = false;
+	int cnt = 0;
+	while (cnt < 8) {
+		if (cur() == ':' && peek() == ':') {
+			hasDoubleColon = true;
+			break;
+		}
+		if (cnt > 0) {
+			if (cur() != ':')
+				break;
+			accept();
+		}
+		if (h16OrIPv4(cnt == 6))
+			break;
+		++cnt;
 	}
-	return addr;
+	// arrive here either with double colon (0 ≤ cnt ≤ 7)
+	// or at end of h16 list (0 ≤ cnt ≤ 8)
+	if (!hasDoubleColon)
+		return rtnIPv6(beg, -1);
+	// remainder string begins with double colon, leave ONE
+	accept();
+	final int beforeDoubleColon = nhx;
+	int maxh16 = 7 - cnt;
+	while (maxh16 > 0) {
+		if (cur() != ':')
+			break;
+		accept();
+		// must check this first
+		if (h16OrIPv4(maxh16 >= 2))
+			break;
+		--maxh16;
+	}
+	// return result
+	return rtnIPv6(beg, beforeDoubleColon);
 }
 
+/**
+ * Parses an IP address (IPv6) at the current position.
+ *
+ * @return the address in network byte order, or null
+ */
 protected byte[]
 pIPv6Address()
 {
-	try (val ofs = new Parser.Txn()) {
-		final List<Integer> beforeDoubleColon = new ArrayList<>();
-		boolean hasDoubleColon = false;
-		int cnt = 0;
-		while (cnt < 8) {
-			if (cur() == ':' && peek() == ':') {
-				hasDoubleColon = true;
-				break;
+	return pIPv6() ? Value.bytes(pv6hi, pv6lo) : null;
+}
+
+/**
+ * <p>Immutable IP or Legacy IP address as two primitive 64-bit halves.
+ * Legacy IP addresses are stored as their v4-mapped IPv6 equivalent
+ * ({@code ::ffff:192.0.2.1}), so both kinds can be compared and used
+ * as map keys or prefixes uniformly, but remember which kind they were
+ * parsed as; see {@link #isV4()}.</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public static final class Value {
+
+	private static final long V4MAPPED = 0x0000FFFF00000000L;
+
+	private final long hi;
+	private final long lo;
+	private final boolean v4;
+
+	private Value(final long hi, final long lo, final boolean v4)
+	{
+		this.hi = hi;
+		this.lo = lo;
+		this.v4 = v4;
+	}
+
+	/**
+	 * Creates a Legacy IP address value.
+	 *
+	 * @param addr address, first octet in the most significant bits
+	 *
+	 * @return new value
+	 */
+	public static Value
+	ofV4(final int addr)
+	{
+		return new Value(0L, V4MAPPED | (addr & 0xFFFFFFFFL), true);
+	}
+
+	/**
+	 * Creates an IP address value.
+	 *
+	 * @param hi upper 64 bits of the address (first hextet most significant)
+	 * @param lo lower 64 bits of the address
+	 *
+	 * @return new value
+	 */
+	public static Value
+	ofV6(final long hi, final long lo)
+	{
+		return new Value(hi, lo, false);
+	}
+
+	/**
+	 * Returns whether this is a Legacy IP address.
+	 *
+	 * @return true if IPv4, false if IPv6 (including v4-mapped)
+	 */
+	public boolean
+	isV4()
+	{
+		return v4;
+	}
+
+	/**
+	 * Returns the upper 64 bits of the (for IPv4: v4-mapped) IPv6 address.
+	 *
+	 * @return first four hextets, the first in the most significant bits
+	 */
+	public long
+	getHigh()
+	{
+		return hi;
+	}
+
+	/**
+	 * Returns the lower 64 bits of the (for IPv4: v4-mapped) IPv6 address.
+	 *
+	 * @return last four hextets, the last in the least significant bits
+	 */
+	public long
+	getLow()
+	{
+		return lo;
+	}
+
+	/**
+	 * Returns the Legacy IP address as {@code int}; for IPv6 addresses,
+	 * this returns their last 32 bits.
+	 *
+	 * @return address, first octet in the most significant bits
+	 */
+	public int
+	toInt()
+	{
+		return (int)lo;
+	}
+
+	/**
+	 * Returns the address in network byte order.
+	 *
+	 * @return 4 octets for IPv4, 16 octets for IPv6
+	 */
+	public byte[]
+	toBytes()
+	{
+		return v4 ? bytes((int)lo) : bytes(hi, lo);
+	}
+
+	/**
+	 * Converts this value into an {@link InetAddress} (without lookup).
+	 *
+	 * @return {@link InetAddress} of the same address
+	 */
+	@SneakyThrows(UnknownHostException.class)
+	public InetAddress
+	toInetAddress()
+	{
+		return InetAddress.getByAddress(toBytes());
+	}
+
+	private static byte[]
+	bytes(final int addr)
+	{
+		return new byte[] {
+			(byte)(addr >>> 24), (byte)(addr >>> 16),
+			(byte)(addr >>> 8), (byte)addr
+		};
+	}
+
+	private static byte[]
+	bytes(final long hi, final long lo)
+	{
+		final byte[] addr = new byte[16];
+		for (int i = 0; i < 8; ++i) {
+			addr[i] = (byte)(hi >>> (56 - 8 * i));
+			addr[8 + i] = (byte)(lo >>> (56 - 8 * i));
+		}
+		return addr;
+	}
+
+	private int
+	hextet(final int i)
+	{
+		return (int)((i < 4 ? hi : lo) >>> (48 - 16 * (i & 3))) & 0xFFFF;
+	}
+
+	/**
+	 * <p>Returns the address in canonical text form: dotted-quad for IPv4;
+	 * for IPv6 as recommended by RFC 5952, that is, lowercase hex digits
+	 * without leading zeroes, the longest (first, if tied) run of at least
+	 * two zero hextets shortened to {@code ::} and v4-mapped addresses in
+	 * mixed notation, e.g. {@code ::ffff:192.0.2.1}.</p>
+	 *
+	 * @return String representation
+	 */
+	@Override
+	public String
+	toString()
+	{
+		final StringBuilder sb = new StringBuilder(39);
+		if (!v4) {
+			if (hi == 0L && (lo >>> 32) == 0xFFFFL)
+				sb.append("::ffff:");
+			else {
+				appendV6(sb);
+				return sb.toString();
 			}
-			if (cnt > 0) {
-				if (cur() != ':')
-					break;
-				accept();
+		}
+		final int addr = (int)lo;
+		sb.append(addr >>> 24).append('.').
+		    append((addr >>> 16) & 0xFF).append('.').
+		    append((addr >>> 8) & 0xFF).append('.').
+		    append(addr & 0xFF);
+		return sb.toString();
+	}
+
+	private void
+	appendV6(final StringBuilder sb)
+	{
+		int zbeg = -1;
+		int zlen = 1;
+		for (int i = 0; i < 8; ++i) {
+			int j = i;
+			while (j < 8 && hextet(j) == 0)
+				++j;
+			if (j - i > zlen) {
+				zbeg = i;
+				zlen = j - i;
 			}
-			if (h16OrIPv4(beforeDoubleColon, cnt == 6))
-				break;
-			++cnt;
+			i = j;
 		}
-		// arrive here either with double colon (0 ≤ cnt ≤ 7)
-		// or at end of h16 list (0 ≤ cnt ≤ 8)
-		if (!hasDoubleColon)
-			return rtnIPv6Address(ofs, beforeDoubleColon, null);
-		// remainder string begins with double colon, leave ONE
-		accept();
-		final List<Integer> afterDoubleColon = new ArrayList<>();
-		int maxh16 = 7 - cnt;
-		while (maxh16 > 0) {
-			if (cur() != ':')
-				break;
-			accept();
-			// must check this first
-			if (h16OrIPv4(afterDoubleColon, maxh16 >= 2))
-				break;
-			--maxh16;
+		for (int i = 0; i < 8; ++i) {
+			if (i == zbeg) {
+				sb.append("::");
+				i += zlen - 1;
+				continue;
+			}
+			if (i > 0 && i != zbeg + zlen)
+				sb.append(':');
+			sb.append(Integer.toHexString(hextet(i)));
 		}
-		// return result
-		return rtnIPv6Address(ofs, beforeDoubleColon, afterDoubleColon);
 	}
+
+	@Override
+	public boolean
+	equals(final Object o)
+	{
+		if (this == o)
+			return true;
+		if (!(o instanceof Value))
+			return false;
+		final Value other = (Value)o;
+		return hi == other.hi && lo == other.lo && v4 == other.v4;
+	}
+
+	@Override
+	public int
+	hashCode()
+	{
+		final long h = hi * 31 + lo;
+		return (int)(h ^ (h >>> 32)) ^ (v4 ? 1 : 0);
+	}
+
 }
 
 }
@@ -0,0 +1,204 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Read-only {@link CharSequence} view of raw octets, such as header
+ * lines as received by an MTA, for passing to the parsers (for example
+ * {@link Path#of(CharSequence)} or {@link FQDN#isDomain(CharSequence)})
+ * without decoding them first.</p>
+ *
+ * <p>Each octet is presented as one {@code char} of the same value, that
+ * is, as if decoded as ISO-8859-1. All productions the parsers recognise
+ * consist of ASCII characters only, and ASCII octets mean the same in
+ * UTF-8, so this yields the same parse results (valid or not) as decoding
+ * UTF-8 input first would. Octets ≥ 0x80 are never part of valid results;
+ * if they appear in {@link #toString()} output of invalid input, they are
+ * shown as Latin-1 characters, one per octet.</p>
+ *
+ * <p>The octets are not copied; they must not be modified while the view,
+ * or any parser or results obtained from it, is in use. Views of a
+ * {@link ByteBuffer} cover its remaining octets at creation time and
+ * neither depend on nor change its position or limit afterwards.</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public final class OctetSequence implements CharSequence {
+
+private static final String BOUNDS_WRAP = "part (%d, %d) not within array (%d)";
+private static final String BOUNDS_IDX = "index %d not within [0, %d)";
+private static final String BOUNDS_SUB = "range [%d, %d) not within [0, %d)";
+
+/**
+ * Backing array, or null if backed by {@link #buf}.
+ */
+private final byte[] arr;
+/**
+ * Backing (direct) buffer, if not backed by {@link #arr}.
+ */
+private final ByteBuffer buf;
+/**
+ * Absolute index of the first octet in the backing storage.
+ */
+private final int ofs;
+/**
+ * Number of octets.
+ */
+private final int len;
+
+private OctetSequence(final byte[] arr, final ByteBuffer buf,
+    final int ofs, final int len)
+{
+	this.arr = arr;
+	this.buf = buf;
+	this.ofs = ofs;
+	this.len = len;
+}
+
+/**
+ * Creates a view of the entire array.
+ *
+ * @param octets to present
+ *
+ * @return new view
+ */
+public static OctetSequence
+wrap(@NonNull final byte[] octets)
+{
+	return new OctetSequence(octets, null, 0, octets.length);
+}
+
+/**
+ * Creates a view of part of the array.
+ *
+ * @param octets to present
+ * @param offset index of the first octet to present
+ * @param length number of octets to present
+ *
+ * @return new view
+ *
+ * @throws IndexOutOfBoundsException if the part is not within the array
+ */
+public static OctetSequence
+wrap(@NonNull final byte[] octets, final int offset, final int length)
+{
+	if (offset < 0 || length < 0 || offset > octets.length - length)
+		throw new IndexOutOfBoundsException(String.format(BOUNDS_WRAP,
+		    offset, length, octets.length));
+	return new OctetSequence(octets, null, offset, length);
+}
+
+/**
+ * Creates a view of the octets remaining (between position and limit)
+ * in a heap or direct buffer.
+ *
+ * @param octets to present
+ *
+ * @return new view
+ */
+public static OctetSequence
+wrap(@NonNull final ByteBuffer octets)
+{
+	final int pos = octets.position();
+	final int rem = octets.remaining();
+	if (octets.hasArray())
+		return new OctetSequence(octets.array(),
+		    null, octets.arrayOffset() + pos, rem);
+	return new OctetSequence(null, octets, pos, rem);
+}
+
+/**
+ * Returns the number of octets in this view.
+ *
+ * @return length
+ */
+@Override
+public int
+length()
+{
+	return len;
+}
+
+/**
+ * Returns the octet at the given index, as {@code char} of the same value.
+ *
+ * @param index of the octet
+ *
+ * @return octet, zero-extended
+ *
+ * @throws IndexOutOfBoundsException if index is not within the view
+ */
+@Override
+public char
+charAt(final int index)
+{
+	if (index < 0 || index >= len)
+		throw new IndexOutOfBoundsException(String.format(BOUNDS_IDX,
+		    index, len));
+	return (char)((arr != null ? arr[ofs + index] :
+	    buf.get(ofs + index)) & 0xFF);
+}
+
+/**
+ * Returns a view of part of this view, sharing the backing storage.
+ *
+ * @param start index of the first octet
+ * @param end   index after the last octet
+ *
+ * @return new view
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the view
+ */
+@Override
+public OctetSequence
+subSequence(final int start, final int end)
+{
+	if (start < 0 || end < start || end > len)
+		throw new IndexOutOfBoundsException(String.format(BOUNDS_SUB,
+		    start, end, len));
+	return new OctetSequence(arr, buf, ofs + start, end - start);
+}
+
+/**
+ * Returns the octets as {@link String}, ISO-8859-1 decoded; this is
+ * identical to UTF-8 decoding if all octets are ASCII, as is the case
+ * for all valid parser results.
+ *
+ * @return String representation
+ */
+@Override
+public String
+toString()
+{
+	if (arr != null)
+		return new String(arr, ofs, len, StandardCharsets.ISO_8859_1);
+	final byte[] tmp = new byte[len];
+	for (int i = 0; i < len; ++i)
+		tmp[i] = buf.get(ofs + i);
+	return new String(tmp, StandardCharsets.ISO_8859_1);
+}
+
+}
@@ -23,22 +23,37 @@ package org.evolvis.tartools.rfc822;
 import lombok.Getter;
 import lombok.val;
 
+import java.util.function.Function;
+
 /**
  * <p>Parser base class. Abstracts initialisation and movement.</p>
  *
+ * <p>The input can be any {@link CharSequence} (or a range thereof), which
+ * is analysed in place, without copying; it must not be modified while the
+ * parser or any results obtained from it are in use.</p>
+ *
+ * <p>Parser instances are not thread-safe, but they can be reused for
+ * different inputs, one after another, via {@link #init(CharSequence)};
+ * results obtained before remain valid.</p>
+ *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 abstract class Parser {
 
 static final String BOUNDS_JMP = "attempt to move (%d) beyond source string (%d)";
 static final String ACCEPT_EOS = "cannot ACCEPT end of input";
+static final String BOUNDS_RANGE = "range [%d, %d) not within input (%d)";
 
 /**
- * The source {@link String} to analyse.
+ * The source {@link CharSequence} to analyse.
+ */
+private CharSequence source;
+/**
+ * Offset of the input range into {@link #source}.
  */
-private final String source;
+private int base;
 /**
- * Offset into {@link #source}.
+ * Offset into the input range of {@link #source}.
  */
 private int ofs;
 /**
@@ -54,50 +69,178 @@ private int succ;
  */
 private int next;
 /**
- * {@link #source} length.
+ * Input range length.
+ */
+private int srcsz;
+/**
+ * Whether the input range contains no surrogates, so that each UTF-16
+ * character is one codepoint and the cursor can skip decoding.
+ */
+private boolean narrow;
+/**
+ * Maximum input range length permitted by the subclass.
  */
-private final int srcsz;
+private final int maxlen;
 
 /**
  * <p>Constructs a parser. Intended to be used by subclasses from static
- * factory methods *only*; see {@link Path#of(String)} for an example.</p>
+ * factory methods *only*; see {@link Path#of(CharSequence)} for an example.</p>
  *
  * <p>Note that subclass constructors must also be of protected visibility
  * to allow for inheritance, but they should both be documented and
  * treated as private, never called other than from a subclass constructor.</p>
  *
- * @param input  user-provided {@link String} to parse
+ * @param input  user-provided {@link CharSequence} to parse
  * @param maxlen subclass-provided maximum input string length, in characters
  */
-protected Parser(final String input, final int maxlen)
+protected Parser(final CharSequence input, final int maxlen)
 {
-	srcsz = input == null ? -1 : input.length();
+	this.maxlen = maxlen;
+	load(input, 0, input == null ? 0 : input.length());
+}
+
+private boolean
+load(final CharSequence input, final int beg, final int end)
+{
+	if (input != null && (beg < 0 || end < beg || end > input.length()))
+		throw new IndexOutOfBoundsException(String.format(BOUNDS_RANGE,
+		    beg, end, input.length()));
+	srcsz = input == null ? -1 : end - beg;
 	if (srcsz < 0 || srcsz > maxlen) {
 		source = null;
-	} else {
-		source = input;
-		jmp(0);
+		srcsz = -1;
+		return false;
 	}
+	source = input;
+	base = beg;
+	narrow = isNarrow(input, beg, end);
+	jmp(0);
+	return true;
+}
+
+/**
+ * Determines whether a range of the input can be analysed without
+ * surrogate decoding, which is the case for almost all real inputs.
+ *
+ * @param input {@link CharSequence} to check
+ * @param beg   offset of the first character of the range
+ * @param end   offset after the last character of the range
+ *
+ * @return true if the range contains no UTF-16 surrogates
+ */
+private static boolean
+isNarrow(final CharSequence input, final int beg, final int end)
+{
+	if (input instanceof OctetSequence)
+		// all characters are ≤ 0xFF
+		return true;
+	for (int i = beg; i < end; ++i)
+		if (Character.isSurrogate(input.charAt(i)))
+			return false;
+	return true;
+}
+
+/**
+ * <p>Reinitialises the parser to analyse another input, so that instances
+ * can be reused instead of constructing a new one per input.</p>
+ *
+ * <p>Results from parsing the previous input remain valid; the parser
+ * is unusable if this method returns false, until the next call.</p>
+ *
+ * @param input user-provided {@link CharSequence} to parse
+ *
+ * @return false if input was null or too large, true otherwise
+ */
+protected final boolean
+init(final CharSequence input)
+{
+	return init(input, 0, input == null ? 0 : input.length());
+}
+
+/**
+ * <p>Reinitialises the parser to analyse a range of another input, so that
+ * instances can be reused instead of constructing a new one per input.
+ * Subclasses with additional per-input state must override this, calling
+ * the superclass method, to discard that state.</p>
+ *
+ * <p>Results from parsing the previous input remain valid; the parser
+ * is unusable if this method returns false, until the next call.</p>
+ *
+ * @param input user-provided {@link CharSequence} to parse
+ * @param beg   offset of the first character of the range to parse
+ * @param end   offset after the last character of the range to parse
+ *
+ * @return false if input was null or too large, true otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within input
+ */
+protected boolean
+init(final CharSequence input, final int beg, final int end)
+{
+	return load(input, beg, end);
+}
+
+/**
+ * <p>Constructs a parser. Intended to be used by subclasses from static
+ * factory methods *only*; see {@link Path#of(CharSequence)} for an example.</p>
+ *
+ * @param creator subclass constructor, usually as method reference
+ * @param input   user-provided {@link CharSequence} to parse
+ * @param <T>     subclass of Parser to construct
+ *
+ * @return null if input was null or too large,
+ *     the new parser subclass instance otherwise
+ */
+protected static <T extends Parser> T
+of(final Function<CharSequence, T> creator, final CharSequence input)
+{
+	final T obj = creator.apply(input);
+	return ((Parser)obj).source == null ? null : obj;
+}
+
+/**
+ * <p>Constructs a parser for a range of the input. Intended to be used by
+ * subclasses from static factory methods *only*; see
+ * {@link Path#of(CharSequence, int, int)} for an example.</p>
+ *
+ * @param creator subclass constructor, usually as method reference
+ * @param input   user-provided {@link CharSequence} to parse
+ * @param beg     offset of the first character of the range to parse
+ * @param end     offset after the last character of the range to parse
+ * @param <T>     subclass of Parser to construct
+ *
+ * @return null if input was null or too large,
+ *     the new parser subclass instance otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within input
+ */
+protected static <T extends Parser> T
+of(final Function<CharSequence, T> creator, final CharSequence input,
+    final int beg, final int end)
+{
+	final T obj = creator.apply(null);
+	return obj.init(input, beg, end) ? obj : null;
 }
 
 /**
  * <p>Constructs a parser. Intended to be used by subclasses from static
- * factory methods *only*; see {@link Path#of(String)} for an example.</p>
+ * factory methods *only*; {@link #of(Function, CharSequence)} is preferable
+ * as it avoids using reflection for every instantiation.</p>
  *
  * @param cls   subclass of Parser to construct
- * @param input user-provided {@link String} to parse
+ * @param input user-provided {@link CharSequence} to parse
  * @param <T>   subclass of Parser to construct
  *
  * @return null if input was null or too large,
  *     the new parser subclass instance otherwise
  */
 protected static <T extends Parser> T
-of(final Class<T> cls, final String input)
+of(final Class<T> cls, final CharSequence input)
 {
 	try {
-		val creator = cls.getDeclaredConstructor(String.class);
+		val creator = cls.getDeclaredConstructor(CharSequence.class);
 		final T obj = creator.newInstance(input);
-		return obj.s() == null ? null : obj;
+		return ((Parser)obj).source == null ? null : obj;
 	} catch (ReflectiveOperationException e) {
 		// should not happen, only subclasses can call it, they’d fail
 		return null;
@@ -125,12 +268,61 @@ jmp(final int pos)
 		next = cur = -1;
 		return cur;
 	}
-	cur = source.codePointAt(ofs);
+	if (narrow) {
+		cur = source.charAt(base + ofs);
+		succ = ofs + 1;
+		next = succ < srcsz ? source.charAt(base + succ) : -1;
+		return cur;
+	}
+	cur = at(ofs);
 	succ = ofs + Character.charCount(cur);
-	next = succ < srcsz ? source.codePointAt(succ) : -1;
+	next = succ < srcsz ? at(succ) : -1;
 	return cur;
 }
 
+/**
+ * Moves to the next character, like {@code jmp(succ)} but reusing
+ * the already decoded lookahead character. The caller must ensure
+ * that end of input is not yet reached.
+ */
+private void
+advance()
+{
+	ofs = succ;
+	cur = next;
+	if (cur == -1)
+		// end of input; succ == ofs already
+		return;
+	if (narrow) {
+		succ = ofs + 1;
+		next = succ < srcsz ? source.charAt(base + succ) : -1;
+	} else {
+		succ = ofs + Character.charCount(cur);
+		next = succ < srcsz ? at(succ) : -1;
+	}
+}
+
+/**
+ * Decodes the wide character at the given position, like
+ * {@link Character#codePointAt(CharSequence, int)} but limited
+ * to the input range.
+ *
+ * @param pos offset into the input range, must be in it
+ *
+ * @return codepoint at pos
+ */
+private int
+at(final int pos)
+{
+	final char c = source.charAt(base + pos);
+	if (Character.isHighSurrogate(c) && pos + 1 < srcsz) {
+		final char c2 = source.charAt(base + pos + 1);
+		if (Character.isLowSurrogate(c2))
+			return Character.toCodePoint(c, c2);
+	}
+	return c;
+}
+
 /**
  * Jumps to a specified input character position, relative jump.
  *
@@ -159,15 +351,81 @@ pos()
 }
 
 /**
- * Returns the input string, for use with substring comparisons.
- * (This is safe because Java™ strings are immutable.)
+ * Returns the length of the input (range) currently analysed.
+ *
+ * @return length in characters, or {@code -1} if the parser is unusable
+ */
+protected final int
+length()
+{
+	return srcsz;
+}
+
+/**
+ * Returns the input {@link CharSequence}, for passing a range of it to other
+ * parsers without copying; position {@code pos} corresponds to index
+ * {@code inputOffset() + pos} in it.
+ *
+ * @return CharSequence input
+ *
+ * @see #inputOffset()
+ */
+protected final CharSequence
+input()
+{
+	return source;
+}
+
+/**
+ * Returns the offset of the input range into {@link #input()}.
+ *
+ * @return index of position 0 in the input
+ */
+protected final int
+inputOffset()
+{
+	return base;
+}
+
+/**
+ * Returns the input character at a position, without surrogate decoding,
+ * for checking parts of the input already analysed without copying them.
+ *
+ * @param pos offset into the input range, must be in it
+ *
+ * @return UTF-16 character at pos
+ */
+protected final char
+charAt(final int pos)
+{
+	return source.charAt(base + pos);
+}
+
+/**
+ * Returns the input as {@link String}, for use with substring comparisons.
+ * This is the original object if a whole {@link String} was passed as input;
+ * otherwise, it is copied for each call, so prefer {@link #s(int, int)}.
  *
  * @return String input
  */
 protected final String
 s()
 {
-	return source;
+	return source == null ? null : s(0, srcsz);
+}
+
+/**
+ * Returns part of the input as {@link String}.
+ *
+ * @param beg offset of the beginning of the substring
+ * @param end offset of the codepoint after the end
+ *
+ * @return String input substring
+ */
+protected final String
+s(final int beg, final int end)
+{
+	return source.subSequence(base + beg, base + end).toString();
 }
 
 /**
@@ -204,7 +462,8 @@ accept()
 {
 	if (cur == -1)
 		throw new IndexOutOfBoundsException(ACCEPT_EOS);
-	return jmp(succ);
+	advance();
+	return cur;
 }
 
 /**
@@ -223,7 +482,7 @@ protected final int
 skipPeek(final LookaheadMatcher matcher)
 {
 	while (cur != -1 && matcher.toSkip(cur, next))
-		jmp(succ);
+		advance();
 	return cur;
 }
 
@@ -238,15 +497,52 @@ skipPeek(final LookaheadMatcher matcher)
  *     or {@code -1} if end of input is reached
  *
  * @see #skipPeek(LookaheadMatcher)
+ * @see #skip(CharClass)
  */
 protected final int
 skip(final ContextlessMatcher matcher)
 {
 	while (cur != -1 && matcher.toSkip(cur))
-		jmp(succ);
+		advance();
 	return cur;
 }
 
+/**
+ * <p>Advances the current position over a run of characters of a class,
+ * such as {@code atext} in a dot-atom. Continues as long as the current
+ * character is a member of {@code cc} and end of input is not yet reached,
+ * like {@link #skip(ContextlessMatcher)} but much faster for long runs.</p>
+ *
+ * <p>This scans the input directly, with one bitmap test per character,
+ * and updates the cursor only once, after the run. (Only if nōn-ASCII
+ * characters match and the input contains surrogates, it falls back
+ * to decoding codepoints one by one.)</p>
+ *
+ * <p>This is the run scanner used for atom, dot-atom, dtext, ctext, qtext
+ * and FWS runs. It deliberately does not load several characters at once
+ * (SWAR or vector loads): the input is an arbitrary {@link CharSequence}
+ * read through {@link CharSequence#charAt(int)}, so there is no array to
+ * load from, and Java 8 has no Vector API.</p>
+ *
+ * @param cc {@link CharClass} of the characters to skip
+ *
+ * @return codepoint of the first character not in the class,
+ *     or {@code -1} if end of input is reached
+ */
+protected final int
+skip(final CharClass cc)
+{
+	if (!narrow && cc.matchesNonASCII())
+		return skip((ContextlessMatcher)cc);
+	// surrogates are nōn-ASCII so cannot match here
+	final int beg = base + ofs;
+	final int lim = base + srcsz;
+	int p = beg;
+	while (p < lim && cc.matches(source.charAt(p)))
+		++p;
+	return p == beg ? cur : jmp(p - base);
+}
+
 /**
  * Representation for consecutive substrings of the input string,
  * for result passing. {@link #toString()} usually returns the
@@ -265,6 +561,16 @@ protected class Substring {
 	@Getter
 	private final Object data;
 
+	/**
+	 * The parser input this is a substring of; retained so the
+	 * object remains valid even after the parser is reinitialised.
+	 */
+	private final CharSequence text;
+	/**
+	 * The offset of the parser input range into {@link #text}.
+	 */
+	private final int base;
+
 	/**
 	 * Creates a new input substring from parser positions.
 	 *
@@ -283,7 +589,7 @@ protected class Substring {
 	 */
 	protected Substring(final Substring src)
 	{
-		this(src.beg, src.end, src.data);
+		this(src.text, src.base, src.beg, src.end, src.data);
 	}
 
 	/**
@@ -294,7 +600,7 @@ protected class Substring {
 	 */
 	protected Substring(final Substring src, final Object data)
 	{
-		this(src.beg, src.end, data);
+		this(src.text, src.base, src.beg, src.end, data);
 	}
 
 	/**
@@ -305,17 +611,41 @@ protected class Substring {
 	 * @param data user-specified data optionally associated with this object
 	 */
 	protected Substring(final int beg, final int end, final Object data)
+	{
+		this(Parser.this.source, Parser.this.base, beg, end, data);
+		assert end <= Parser.this.srcsz : "past end of input";
+	}
+
+	private Substring(final CharSequence text, final int base,
+	    final int beg, final int end, final Object data)
 	{
 		// for internal consistency, not fatal if disabled at runtime
 		assert end >= beg : "end after beginning";
 		assert beg >= 0 : "negative beginning";
-		assert end <= Parser.this.srcsz : "past end of input";
 		// ↑ coverage: https://github.com/jacoco/jacoco/pull/613
+		this.text = text;
+		this.base = base;
 		this.beg = beg;
 		this.end = end;
 		this.data = data;
 	}
 
+	/**
+	 * Returns the input character at a position (which need not be in
+	 * this substring), without surrogate decoding; unlike the parser, this
+	 * reads the input this substring was created from even after the parser
+	 * was reinitialised, so it can be used to compute data lazily.
+	 *
+	 * @param pos parser position of the character
+	 *
+	 * @return UTF-16 character at pos
+	 */
+	protected final char
+	charAt(final int pos)
+	{
+		return text.charAt(base + pos);
+	}
+
 	/**
 	 * Returns the string representation of this {@code Substring},
 	 * that is, usually, a substring of an on-wire representation.
@@ -326,7 +656,7 @@ protected class Substring {
 	public String
 	toString()
 	{
-		return Parser.this.s().substring(beg, end);
+		return text.subSequence(base + beg, base + end).toString();
 	}
 
 }
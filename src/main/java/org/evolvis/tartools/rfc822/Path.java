@@ -30,8 +30,10 @@ import lombok.val;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -48,9 +50,13 @@ import java.util.stream.Collectors;
  * class is concerned with on-wire formats; separate classes will implement
  * MIME support and the likes later.</p>
  *
- * <p>To use, create a new instance via the {@link #of(String)} factory method
- * passing the string to analyse for eMail address(es). Then call one of the
- * parse methods on the instance, depending on what to expect:</p><ul>
+ * <p>To use, create a new instance via the {@link #of(CharSequence)} factory method
+ * passing the string to analyse for eMail address(es), or, when validating
+ * many strings, get the calling thread’s instance via {@link #forThread(CharSequence)}
+ * instead. Any {@link CharSequence} (such as a {@link StringBuilder} or a
+ * {@link java.nio.CharBuffer}), or a range thereof, is analysed in place; it
+ * must not be modified while the parser or its results are in use. Then call
+ * one of the parse methods on the instance, depending on what to expect:</p><ul>
  * <li>{@link #asAddrSpec()} checks for unlabelled {@code addr-spec}, such as
  * {@code foo@example.com}, which are useful for MSA invocations.</li>
  * <li>{@link #forSender(boolean)} with {@code false} argument validates one
@@ -74,6 +80,10 @@ import java.util.stream.Collectors;
  * pretty-prints the on-wire representation. Some result objects may have extra
  * methods that can be useful.</p>
  *
+ * <p>For input with long display names or many comments, enabling
+ * {@link #setMemoising(boolean) memoisation} avoids analysing the same
+ * part of the input repeatedly when alternatives are tried.</p>
+ *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 public class Path extends Parser {
@@ -155,6 +165,39 @@ static {
 		ASCII[d] |= F_DTEXT;
 }
 
+/**
+ * {@code atext} characters, for {@link Parser#skip(CharClass)}.
+ */
+public static final CharClass ATEXT = CharClass.of(ASCII, IS_ATEXT);
+/**
+ * {@code qtext} characters (without obsolete ones).
+ */
+public static final CharClass QTEXT = CharClass.of(ASCII, IS_QTEXT);
+/**
+ * {@code ctext} characters (without obsolete ones).
+ */
+public static final CharClass CTEXT = CharClass.of(ASCII, IS_CTEXT);
+/**
+ * {@code dtext} characters (without obsolete ones).
+ */
+public static final CharClass DTEXT = CharClass.of(ASCII, IS_DTEXT);
+/**
+ * {@code WSP} characters, that is, space and horizontal tab.
+ */
+public static final CharClass WSP = CharClass.of(" \t");
+/**
+ * ASCII letters and digits.
+ */
+public static final CharClass ALNUM = CharClass.of(ASCII, IS_ALNUM);
+/**
+ * ASCII letters, digits and hyphen-minus, as in DNS labels.
+ */
+public static final CharClass ALNUS = CharClass.of(ASCII, IS_ALNUS);
+/**
+ * Hexadecimal digits, either case.
+ */
+public static final CharClass XDIGIT = CharClass.of(ASCII, IS_XDIGIT);
+
 protected static boolean
 is(final int c, final byte what)
 {
@@ -195,25 +238,41 @@ isQtext(final int c)
  * substrings of the input any more if unfolding, as in {@link #unfold(String)},
  * was necessary.</p>
  *
+ * <p>Both are computed from the input only on first use, as most callers
+ * never need them, e.g. for display names when only validating.</p>
+ *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 protected final class UnfoldedSubstring extends Substring {
 
-	private final String string;
+	/**
+	 * Position from which the user representation is computed by
+	 * {@link #dequote(Substring, int)}, or -1 if it was passed.
+	 */
+	private final int dbeg;
+	private String string;
+	private String value;
 
-	private UnfoldedSubstring(final Substring ss, final String us)
+	private UnfoldedSubstring(final Substring ss)
 	{
 		super(ss);
-		string = us;
+		dbeg = -1;
 	}
 
 	private UnfoldedSubstring(final Substring ss, final String us,
 	    final Object data)
 	{
 		super(ss, data);
+		dbeg = -1;
 		string = us;
 	}
 
+	private UnfoldedSubstring(final int beg, final int end, final int dbeg)
+	{
+		super(beg, end);
+		this.dbeg = dbeg;
+	}
+
 	/**
 	 * Returns the string representation of this {@link Parser.Substring},
 	 * in our case, an unfolded (see {@link #unfold(String)}) copy of the
@@ -225,15 +284,37 @@ protected final class UnfoldedSubstring extends Substring {
 	public String
 	toString()
 	{
+		if (string == null)
+			string = unfolded(this);
 		return string;
 	}
 
+	/**
+	 * Returns the user data: for a {@code phrase} or {@code quoted-string},
+	 * the unfolded representation with quoted-strings dequoted and
+	 * backslash-removed (comments are retained verbatim).
+	 *
+	 * @return user data
+	 */
+	@Override
+	public Object
+	getData()
+	{
+		if (dbeg == -1)
+			return super.getData();
+		if (value == null)
+			value = dequote(this, dbeg);
+		return value;
+	}
+
 }
 
 /**
  * <p>Representation for a local-part (FWS unfolded) or a domain (dot-atom only).</p>
  * <p>Check isValid() first.</p>
  *
+ * <p>The string representation is computed from the input only on first use.</p>
+ *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 @Getter
@@ -245,9 +326,12 @@ protected final class AddrSpecSIDE extends Substring {
 	 */
 	private final boolean valid;
 
-	private AddrSpecSIDE(final Substring src, final String us, final boolean v)
+	@Getter(AccessLevel.NONE)
+	private String string;
+
+	private AddrSpecSIDE(final Substring src, final boolean v)
 	{
-		super(src, us);
+		super(src);
 		valid = v;
 	}
 
@@ -261,7 +345,21 @@ protected final class AddrSpecSIDE extends Substring {
 	public String
 	toString()
 	{
-		return (String)getData();
+		if (string == null)
+			string = unfolded(this);
+		return string;
+	}
+
+	/**
+	 * Returns the user data, identical to the string representation.
+	 *
+	 * @return String representation
+	 */
+	@Override
+	public Object
+	getData()
+	{
+		return toString();
 	}
 
 }
@@ -298,10 +396,116 @@ unfold(final String s)
 protected Substring
 unfold(final Substring ss)
 {
-	final String u = unfold(ss.toString());
-	if (u == null)
+	if (unfoldedLength(ss) == ss.end - ss.beg)
 		return ss;
-	return new UnfoldedSubstring(ss, u);
+	return new UnfoldedSubstring(ss);
+}
+
+private static boolean
+isCRLF(final char c)
+{
+	return c == 0x0D || c == 0x0A;
+}
+
+/**
+ * Returns the length {@link #unfolded(Substring)} would return a string of.
+ *
+ * @param ss raw {@link Substring}
+ *
+ * @return number of characters that are not CR or LF in ss
+ */
+private static int
+unfoldedLength(final Substring ss)
+{
+	int n = 0;
+	for (int i = ss.beg; i < ss.end; ++i)
+		if (!isCRLF(ss.charAt(i)))
+			++n;
+	return n;
+}
+
+/**
+ * Checks whether a raw substring contains a character.
+ *
+ * @param ss raw {@link Substring}
+ * @param c  character to search for
+ *
+ * @return true if ss contains c
+ */
+private static boolean
+contains(final Substring ss, final char c)
+{
+	for (int i = ss.beg; i < ss.end; ++i)
+		if (ss.charAt(i) == c)
+			return true;
+	return false;
+}
+
+/**
+ * Returns the raw substring with all CR and LF removed, like
+ * {@link #unfold(String)} but without copying the substring first.
+ *
+ * @param ss raw {@link Substring}
+ *
+ * @return String unfolded wire representation
+ */
+private static String
+unfolded(final Substring ss)
+{
+	final char[] buf = new char[unfoldedLength(ss)];
+	int dst = 0;
+	for (int i = ss.beg; i < ss.end; ++i) {
+		final char c = ss.charAt(i);
+		if (!isCRLF(c))
+			buf[dst++] = c;
+	}
+	return new String(buf);
+}
+
+/**
+ * <p>Computes the user representation of (the tail of) a raw {@code phrase}
+ * or {@code quoted-string} substring: unfolded, with the double quotes
+ * of quoted-strings removed and their quoted-pairs resolved; comments,
+ * atoms and whitespace (between words) are retained verbatim.</p>
+ *
+ * <p>This relies on the substring having been parsed as such already,
+ * so e.g. parentheses are balanced and no backslash is last.</p>
+ *
+ * @param ss   raw {@link Substring}
+ * @param dbeg position within ss to start at, outside of quotes and comments
+ *
+ * @return String user representation
+ */
+private static String
+dequote(final Substring ss, final int dbeg)
+{
+	final StringBuilder sb = new StringBuilder(ss.end - dbeg);
+	boolean quoted = false;
+	int depth = 0;
+	for (int i = dbeg; i < ss.end; ++i) {
+		final char c = ss.charAt(i);
+		if (isCRLF(c))
+			continue;
+		if (depth > 0) {
+			// comment, verbatim
+			sb.append(c);
+			if (c == '\\')
+				sb.append(ss.charAt(++i));
+			else if (c == '(')
+				++depth;
+			else if (c == ')')
+				--depth;
+		} else if (c == '"')
+			quoted = !quoted;
+		else if (quoted && c == '\\')
+			sb.append(ss.charAt(++i));
+		else {
+			if (!quoted && c == '(')
+				depth = 1;
+			sb.append(c);
+		}
+	}
+	return sb.toString();
 }
 
 /**
@@ -328,7 +532,12 @@ private static final class Word {
 }
 
 /**
- * Methods all {@link Path} parser results implement.
+ * <p>Methods all {@link Path} parser results implement.</p>
+ *
+ * <p>Parser results are immutable (their lists cannot be modified, and
+ * the lazily computed strings are the same whichever thread computes
+ * them first), so they may be shared between threads, as long as the
+ * input they were parsed from is not modified.</p>
  *
  * @author mirabilos (m@mirbsd.org)
  * @see #isValid()
@@ -358,11 +567,14 @@ public interface ParserResult {
  * <p>Representation for an {@code addr-spec} (eMail address). These are
  * comprised of {@code localPart} and {@code domain}.</p>
  *
+ * <p>Two addr-specs are equal if their {@link #canonicalKey()}s are,
+ * that is, the domain is compared case-insensitively; they are ordered
+ * by domain, then local-part, each in canonical form.</p>
+ *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
-@AllArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
-public static final class AddrSpec implements ParserResult {
+public static final class AddrSpec implements ParserResult, Comparable<AddrSpec> {
 
 	/**
 	 * The {@code local-part} of the {@code addr-}spec, as it occurs in the
@@ -390,6 +602,19 @@ public static final class AddrSpec implements ParserResult {
 	 */
 	final boolean valid;
 
+	@Getter(AccessLevel.NONE)
+	private String key;
+	@Getter(AccessLevel.NONE)
+	private int hash;
+
+	protected AddrSpec(@NonNull final Substring localPart,
+	    @NonNull final Substring domain, final boolean valid)
+	{
+		this.localPart = localPart;
+		this.domain = domain;
+		this.valid = valid;
+	}
+
 	/**
 	 * Returns the {@code addr-spec} as eMail address (in wire format).
 	 *
@@ -402,15 +627,251 @@ public static final class AddrSpec implements ParserResult {
 		return localPart + "@" + domain;
 	}
 
+	/**
+	 * <p>Returns the canonical form of this {@code addr-spec}, suitable as
+	 * key for comparing, deduplicating or looking up addresses: FWS is
+	 * unfolded; a quoted-string local-part is unquoted if its content is
+	 * valid as {@code dot-atom} ({@code "foo.bar"@…} becomes {@code foo.bar@…})
+	 * and otherwise requoted minimally (only {@code "} and {@code \}
+	 * escaped); the local-part is otherwise kept as-is, it being
+	 * case-sensitive; a dot-atom domain is ASCII-lowercased; and a
+	 * domain-literal with a valid IP address has it in canonical form
+	 * (see {@link IPAddress.Value#toString()}), e.g. {@code [IPv6:2001:db8::1]}.</p>
+	 *
+	 * <p>The key is computed on first use and retained.</p>
+	 *
+	 * @return String canonical {@code localPart@domain}
+	 *
+	 * @see #fingerprint()
+	 */
+	public String
+	canonicalKey()
+	{
+		String k = key;
+		if (k == null) {
+			final StringBuilder sb = new StringBuilder(localPart.end -
+			    localPart.beg + 1 + domain.end - domain.beg);
+			canonical(sb);
+			key = k = sb.toString();
+		}
+		return k;
+	}
+
+	/**
+	 * <p>Returns a 64-bit fingerprint of {@link #canonicalKey()}, computed
+	 * directly from the input without constructing the key (or any other
+	 * String; except for domain-literals, which are rare): the FNV-1a hash
+	 * of the UTF-16 code units of the key, that is, of its octets, as the
+	 * key of a valid {@code addr-spec} is ASCII, finalised with the 64-bit
+	 * MurmurHash3 mixer so all bits are usable for bucketing.</p>
+	 *
+	 * <p>The fingerprint is stable across runs and versions; equal
+	 * canonical keys always have equal fingerprints.</p>
+	 *
+	 * @return fingerprint
+	 */
+	public long
+	fingerprint()
+	{
+		long h = canonical(null);
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	@Override
+	public boolean
+	equals(final Object o)
+	{
+		if (this == o)
+			return true;
+		if (!(o instanceof AddrSpec))
+			return false;
+		final AddrSpec other = (AddrSpec)o;
+		return hashCode() == other.hashCode() &&
+		    canonicalKey().equals(other.canonicalKey());
+	}
+
+	/**
+	 * Returns a hash code derived from {@link #fingerprint()}, which is
+	 * computed without allocating, on first use only.
+	 *
+	 * @return hash code
+	 */
+	@Override
+	public int
+	hashCode()
+	{
+		int h = hash;
+		if (h == 0) {
+			final long f = fingerprint();
+			hash = h = (int)(f ^ (f >>> 32));
+		}
+		return h;
+	}
+
+	/**
+	 * Compares by domain, then local-part, both in canonical form
+	 * (see {@link #canonicalKey()}), character by character;
+	 * consistent with {@link #equals(Object)}.
+	 *
+	 * @param o addr-spec to compare with
+	 *
+	 * @return negative, zero or positive as this sorts before, same as or after o
+	 */
+	@Override
+	public int
+	compareTo(@NonNull final AddrSpec o)
+	{
+		final String a = canonicalKey();
+		final String b = o.canonicalKey();
+		final int ia = at(a);
+		final int ib = at(b);
+		final int rv = compare(a, ia + 1, a.length(), b, ib + 1, b.length());
+		return rv != 0 ? rv : compare(a, 0, ia, b, 0, ib);
+	}
+
+	/**
+	 * Returns the position of the {@code @} separating local-part and
+	 * domain of a canonical key; the local-part contains one only if
+	 * quoted, so skip over that.
+	 */
+	private static int
+	at(final String k)
+	{
+		if (k.charAt(0) != '"')
+			return k.indexOf('@');
+		int i = 1;
+		while (k.charAt(i) != '"')
+			i += k.charAt(i) == '\\' ? 2 : 1;
+		return i + 1;
+	}
+
+	private static int
+	compare(final String a, final int abeg, final int aend,
+	    final String b, final int bbeg, final int bend)
+	{
+		final int n = Math.min(aend - abeg, bend - bbeg);
+		for (int i = 0; i < n; ++i) {
+			final int d = a.charAt(abeg + i) - b.charAt(bbeg + i);
+			if (d != 0)
+				return d;
+		}
+		return (aend - abeg) - (bend - bbeg);
+	}
+
+	private static long
+	emit(final long h, final StringBuilder sb, final char c)
+	{
+		if (sb != null)
+			sb.append(c);
+		return (h ^ c) * 0x100000001B3L;
+	}
+
+	/**
+	 * Walks the canonical key, appending it to sb if not null.
+	 *
+	 * @param sb to append the canonical key to, or null
+	 *
+	 * @return FNV-1a hash of the canonical key
+	 */
+	private long
+	canonical(final StringBuilder sb)
+	{
+		long h = 0xCBF29CE484222325L;
+		final Substring lp = localPart;
+		if (lp.end > lp.beg && lp.charAt(lp.beg) == '"') {
+			final boolean q = !isDotAtomContent(lp);
+			if (q)
+				h = emit(h, sb, '"');
+			for (int i = lp.beg + 1; i < lp.end - 1; ++i) {
+				char c = lp.charAt(i);
+				if (isCRLF(c))
+					continue;
+				if (c == '\\')
+					c = lp.charAt(++i);
+				if (q && (c == '"' || c == '\\'))
+					h = emit(h, sb, '\\');
+				h = emit(h, sb, c);
+			}
+			if (q)
+				h = emit(h, sb, '"');
+		} else
+			for (int i = lp.beg; i < lp.end; ++i) {
+				final char c = lp.charAt(i);
+				if (!isCRLF(c))
+					h = emit(h, sb, c);
+			}
+		h = emit(h, sb, '@');
+		final Substring d = domain;
+		if (!(d instanceof AddrSpecSIDE) && d.getData() != null) {
+			final String s = d.toString();
+			final boolean v6 = s.regionMatches(true, 0,
+			    IPV6_TAG, 0, IPV6_TAG.length());
+			final IPAddress.Value v = IPAddress.value(s,
+			    v6 ? IPV6_TAG.length() : 1, s.length() - 1);
+			if (v != null) {
+				final String a = v6 ? "[IPv6:" + v + "]" : "[" + v + "]";
+				for (int i = 0; i < a.length(); ++i)
+					h = emit(h, sb, a.charAt(i));
+				return h;
+			}
+		}
+		for (int i = d.beg; i < d.end; ++i) {
+			final char c = d.charAt(i);
+			if (!isCRLF(c))
+				h = emit(h, sb, c >= 'A' && c <= 'Z' ?
+				    (char)(c + ('a' - 'A')) : c);
+		}
+		return h;
+	}
+
+	/**
+	 * Checks whether the content of a raw quoted-string, dequoted,
+	 * is a valid {@code dot-atom-text}.
+	 *
+	 * @param qs raw {@link Substring} of the quoted-string, quotes included
+	 *
+	 * @return true if the quotes are unnecessary
+	 */
+	private static boolean
+	isDotAtomContent(final Substring qs)
+	{
+		// as if preceded by a dot: must not begin with one
+		char prev = '.';
+		for (int i = qs.beg + 1; i < qs.end - 1; ++i) {
+			char c = qs.charAt(i);
+			if (isCRLF(c))
+				continue;
+			if (c == '\\')
+				c = qs.charAt(++i);
+			if (c == '.' ? prev == '.' : !isAtext(c))
+				return false;
+			prev = c;
+		}
+		return prev != '.';
+	}
+
 }
 
 /**
- * Representation for an {@code address} (either {@code mailbox} or {@code group}).
+ * <p>Representation for an {@code address} (either {@code mailbox} or {@code group}).</p>
+ *
+ * <p>Two addresses are equal if both are mailboxen with equal addr-specs
+ * (see {@link AddrSpec#equals(Object)}) or both groups with equal lists
+ * of members, and their display names (user representation, as from
+ * {@link Substring#getData()}) are equal or both absent. They are ordered
+ * mailboxen first, by addr-spec then display name, then groups, by
+ * display name then members. To compare recipients only, use the
+ * {@link #getMailbox()} of mailboxen instead.</p>
  *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 @Getter
-public static final class Address implements ParserResult {
+public static final class Address implements ParserResult, Comparable<Address> {
 
 	/**
 	 * Whether this address is a {@code group} (true) or a {@code mailbox} (false).
@@ -433,7 +894,8 @@ public static final class Address implements ParserResult {
 	final AddrSpec mailbox;
 
 	/**
-	 * The {@code group-list} behind this group [isGroup()==true], may be empty.
+	 * The {@code group-list} behind this group [isGroup()==true], may be
+	 * empty; not modifiable.
 	 */
 	final List<Address> mailboxen;
 
@@ -442,13 +904,30 @@ public static final class Address implements ParserResult {
 	 */
 	final boolean valid;
 
+	/**
+	 * Whether this {@code mailbox} is a bare {@code addr-spec} (not
+	 * a {@code name-addr}, which may lack a label but has angle brackets).
+	 */
+	@Getter(AccessLevel.NONE)
+	private final boolean bare;
+
+	@Getter(AccessLevel.NONE)
+	private int hash;
+
 	private Address(final Substring label, final AddrSpec mailbox)
+	{
+		this(label, mailbox, false);
+	}
+
+	private Address(final Substring label, final AddrSpec mailbox,
+	    final boolean bare)
 	{
 		this.group = false;
 		this.label = label;
 		this.mailbox = mailbox;
 		this.mailboxen = null;
 		this.valid = mailbox.isValid();
+		this.bare = bare;
 	}
 
 	private Address(final Substring label, final List<Address> mailboxen)
@@ -458,6 +937,7 @@ public static final class Address implements ParserResult {
 		this.mailbox = null;
 		this.mailboxen = mailboxen;
 		this.valid = mailboxen.stream().allMatch(Address::isValid);
+		this.bare = false;
 		// normally we’d need to check that all mailboxen are not group
 	}
 
@@ -482,20 +962,113 @@ public static final class Address implements ParserResult {
 		    map(Address::toString).collect(Collectors.joining(",")));
 	}
 
+	private String
+	displayName()
+	{
+		if (label == null)
+			return null;
+		final Object data = label.getData();
+		return data == null ? label.toString() : data.toString();
+	}
+
+	@Override
+	public boolean
+	equals(final Object o)
+	{
+		if (this == o)
+			return true;
+		if (!(o instanceof Address))
+			return false;
+		final Address other = (Address)o;
+		return group == other.group && hashCode() == other.hashCode() &&
+		    (group ? mailboxen.equals(other.mailboxen) :
+		    mailbox.equals(other.mailbox)) &&
+		    Objects.equals(displayName(), other.displayName());
+	}
+
+	/**
+	 * Returns a hash code, computed on first use only.
+	 *
+	 * @return hash code
+	 */
+	@Override
+	public int
+	hashCode()
+	{
+		int h = hash;
+		if (h == 0) {
+			h = group ? ~mailboxen.hashCode() : mailbox.hashCode();
+			hash = h = 31 * h + Objects.hashCode(displayName());
+		}
+		return h;
+	}
+
+	/**
+	 * Compares mailboxen (by addr-spec, then display name) before groups
+	 * (by display name, then members); consistent with {@link #equals(Object)}.
+	 *
+	 * @param o address to compare with
+	 *
+	 * @return negative, zero or positive as this sorts before, same as or after o
+	 */
+	@Override
+	public int
+	compareTo(@NonNull final Address o)
+	{
+		if (group != o.group)
+			return group ? 1 : -1;
+		if (!group) {
+			final int rv = mailbox.compareTo(o.mailbox);
+			return rv != 0 ? rv : compare(displayName(), o.displayName());
+		}
+		final int rv = compare(displayName(), o.displayName());
+		return rv != 0 ? rv : compare(mailboxen, o.mailboxen);
+	}
+
+	/**
+	 * Compares two optional Strings, absent first.
+	 */
+	private static int
+	compare(final String a, final String b)
+	{
+		if (a == null || b == null)
+			return a == null ? (b == null ? 0 : -1) : 1;
+		return a.compareTo(b);
+	}
+
+	/**
+	 * Compares two lists of addresses lexicographically.
+	 */
+	private static int
+	compare(final List<Address> a, final List<Address> b)
+	{
+		final int n = Math.min(a.size(), b.size());
+		for (int i = 0; i < n; ++i) {
+			final int rv = a.get(i).compareTo(b.get(i));
+			if (rv != 0)
+				return rv;
+		}
+		return Integer.compare(a.size(), b.size());
+	}
+
 }
 
 /**
- * Representation for an {@code address-list} or a {@code mailbox-list}.
+ * <p>Representation for an {@code address-list} or a {@code mailbox-list}.</p>
+ *
+ * <p>Two lists are equal if their addresses are, pairwise, in the same
+ * order (see {@link Address#equals(Object)}); they are ordered
+ * lexicographically by their addresses.</p>
  *
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 @Getter
-public static final class AddressList implements ParserResult {
+public static final class AddressList implements ParserResult, Comparable<AddressList> {
 
 	/**
 	 * The actual {@code address-list} or {@code mailbox-list} behind the
 	 * scenes (which one it is depends on by which parser function this
-	 * object was returned).
+	 * object was returned); not modifiable.
 	 */
 	final List<Address> addresses;
 
@@ -513,9 +1086,12 @@ public static final class AddressList implements ParserResult {
 	@SuppressWarnings("squid:S1700")
 	final boolean addressList;
 
+	@Getter(AccessLevel.NONE)
+	private int hash;
+
 	private AddressList(final List<Address> addresses)
 	{
-		this.addresses = addresses;
+		this.addresses = Collections.unmodifiableList(addresses);
 		valid = /*!addresses.isEmpty() &&*/
 		    addresses.stream().allMatch(Address::isValid);
 		addressList = addresses.stream().anyMatch(Address::isGroup);
@@ -534,6 +1110,49 @@ public static final class AddressList implements ParserResult {
 		    map(Address::toString).collect(Collectors.joining(", "));
 	}
 
+	@Override
+	public boolean
+	equals(final Object o)
+	{
+		if (this == o)
+			return true;
+		if (!(o instanceof AddressList))
+			return false;
+		final AddressList other = (AddressList)o;
+		return hashCode() == other.hashCode() &&
+		    addresses.equals(other.addresses);
+	}
+
+	/**
+	 * Returns a hash code, computed on first use only.
+	 *
+	 * @return hash code
+	 */
+	@Override
+	public int
+	hashCode()
+	{
+		int h = hash;
+		if (h == 0)
+			hash = h = addresses.hashCode();
+		return h;
+	}
+
+	/**
+	 * Compares the addresses lexicographically; consistent with
+	 * {@link #equals(Object)}.
+	 *
+	 * @param o address list to compare with
+	 *
+	 * @return negative, zero or positive as this sorts before, same as or after o
+	 */
+	@Override
+	public int
+	compareTo(@NonNull final AddressList o)
+	{
+		return Address.compare(addresses, o.addresses);
+	}
+
 	/**
 	 * Returns all invalid constituents as {@code ", "}-separated string,
 	 * for error message construction.
@@ -587,31 +1206,834 @@ public static final class AddressList implements ParserResult {
 }
 
 /**
- * Creates and initialises a new (strict) parser for eMail addresses.
- *
- * @param addresses to parse
+ * <p>Result of {@link #classify()}: the input parsed as each production
+ * at once; members are null if the input does not parse as the respective
+ * production, otherwise the same as returned by the respective method.</p>
  *
- * @return null if {@code addresses} was null or very large,
- *     the new parser instance otherwise
+ * @author mirabilos (t.glaser@qvest-digital.com)
  */
-public static Path
-of(final String addresses)
-{
-	return Parser.of(Path.class, addresses);
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public static final class Classification {
+
+	/**
+	 * The input as {@code addr-spec}, cf. {@link Path#asAddrSpec()}.
+	 */
+	final AddrSpec addrSpec;
+
+	/**
+	 * The input as {@code mailbox}, cf. {@link Path#forSender(boolean)}
+	 * with {@code false} argument.
+	 */
+	final Address mailbox;
+
+	/**
+	 * The input as {@code address}, cf. {@link Path#forSender(boolean)}
+	 * with {@code true} argument.
+	 */
+	final Address address;
+
+	/**
+	 * The input as {@code mailbox-list}, cf. {@link Path#asMailboxList()}.
+	 */
+	final AddressList mailboxList;
+
+	/**
+	 * The input as {@code address-list}, cf. {@link Path#asAddressList()}.
+	 */
+	final AddressList addressList;
+
 }
 
 /**
- * Private constructor. Use the factory method {@link #of(String)} instead.
+ * <p>Result of the validation-only methods, such as
+ * {@link #validateAsAddressList()}, which determine what
+ * {@link ParserResult#isValid()} of the respective parse method
+ * would return, but without constructing any parser results.</p>
  *
- * @param input string to analyse
+ * @author mirabilos (t.glaser@qvest-digital.com)
  */
-protected Path(final String input)
-{
-	super(input, /* arbitrary but extremely large already */ 131072);
+public enum Validity {
+
+	/**
+	 * The input does not parse as the respective production
+	 * (the parse method would return null).
+	 */
+	UNPARSEABLE,
+
+	/**
+	 * The input parses but fails further validations (length limits,
+	 * semantics, etc.), so it must not be used on the public internet.
+	 */
+	INVALID,
+
+	/**
+	 * The input parses and is valid.
+	 */
+	VALID
+
 }
 
 /**
- * Parses the address as {@code mailbox-list}, such as for the {@code From}
+ * Productions the input can be parsed as, for the methods handling
+ * several inputs at once, such as {@link #parseAll(List, Mode)}.
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public enum Mode {
+
+	/**
+	 * {@code addr-spec}, cf. {@link Path#asAddrSpec()}
+	 */
+	ADDR_SPEC,
+
+	/**
+	 * {@code mailbox}, cf. {@link Path#forSender(boolean)} with
+	 * {@code false} argument
+	 */
+	MAILBOX,
+
+	/**
+	 * {@code address}, cf. {@link Path#forSender(boolean)} with
+	 * {@code true} argument
+	 */
+	ADDRESS,
+
+	/**
+	 * {@code mailbox-list}, cf. {@link Path#asMailboxList()}
+	 */
+	MAILBOX_LIST,
+
+	/**
+	 * {@code address-list}, cf. {@link Path#asAddressList()}
+	 */
+	ADDRESS_LIST
+
+}
+
+// codes returned by the recognisers, indices into VALIDITY
+private static final int V_NONE = 0;
+private static final int V_INVALID = 1;
+private static final int V_VALID = 2;
+private static final Validity[] VALIDITY = Validity.values();
+
+/**
+ * Creates and initialises a new (strict) parser for eMail addresses.
+ *
+ * @param addresses to parse
+ *
+ * @return null if {@code addresses} was null or very large,
+ *     the new parser instance otherwise
+ */
+public static Path
+of(final CharSequence addresses)
+{
+	return Parser.of(Path::new, addresses);
+}
+
+/**
+ * Creates and initialises a new (strict) parser for eMail addresses
+ * in a range of the input, such as a header value within a buffer.
+ *
+ * @param addresses to parse
+ * @param beg       offset of the first character of the range to parse
+ * @param end       offset after the last character of the range to parse
+ *
+ * @return null if {@code addresses} was null or very large,
+ *     the new parser instance otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public static Path
+of(final CharSequence addresses, final int beg, final int end)
+{
+	return Parser.of(Path::new, addresses, beg, end);
+}
+
+private static final ThreadLocal<Path> THREAD_PARSER =
+    ThreadLocal.withInitial(() -> new Path(null));
+
+/**
+ * <p>Returns the (strict) parser instance confined to the calling thread,
+ * reinitialised for the given input; see {@link #reset(CharSequence)}.</p>
+ *
+ * <p>This saves constructing a new parser for every input. The instance
+ * must not be passed to other threads, and it is reinitialised by every
+ * subsequent call from the same thread; the parser results obtained from
+ * it, however, remain valid and can be used anywhere.</p>
+ *
+ * @param addresses to parse
+ *
+ * @return null if {@code addresses} was null or very large,
+ *     the calling thread’s parser instance otherwise
+ */
+public static Path
+forThread(final CharSequence addresses)
+{
+	return THREAD_PARSER.get().reset(addresses);
+}
+
+/**
+ * Returns the (strict) parser instance confined to the calling thread,
+ * reinitialised for a range of the given input.
+ *
+ * @param addresses to parse
+ * @param beg       offset of the first character of the range to parse
+ * @param end       offset after the last character of the range to parse
+ *
+ * @return null if {@code addresses} was null or very large,
+ *     the calling thread’s parser instance otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ * @see #forThread(CharSequence)
+ */
+public static Path
+forThread(final CharSequence addresses, final int beg, final int end)
+{
+	return THREAD_PARSER.get().reset(addresses, beg, end);
+}
+
+/**
+ * Separate instance for the static methods so they do not reinitialise
+ * a parser the caller obtained from {@link #forThread(CharSequence)}.
+ */
+private static final ThreadLocal<Path> STATIC_PARSER =
+    ThreadLocal.withInitial(() -> new Path(null));
+
+/**
+ * <p>Checks whether the passed string is a valid {@code addr-spec} (strict),
+ * like {@link #asAddrSpec()} followed by {@link ParserResult#isValid()} but
+ * without constructing a parser or any parser results.</p>
+ *
+ * <p>This (and the other static validation methods) does not allocate
+ * memory once the calling thread has used it before.</p>
+ *
+ * @param address to check
+ *
+ * @return true if {@code address} is a valid {@code addr-spec}, false otherwise
+ */
+public static boolean
+isValidAddrSpec(final CharSequence address)
+{
+	return validateAddrSpec(address) == Validity.VALID;
+}
+
+/**
+ * Validates the passed string as {@code addr-spec} (strict) without
+ * constructing a parser or any parser results; cf. {@link #asAddrSpec()}.
+ *
+ * @param address to check
+ *
+ * @return {@link Validity} of {@code address}
+ *     ({@link Validity#UNPARSEABLE} if null or very large)
+ *
+ * @see #isValidAddrSpec(CharSequence)
+ */
+public static Validity
+validateAddrSpec(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? Validity.UNPARSEABLE : p.validateAsAddrSpec();
+}
+
+/**
+ * Validates the passed string as {@code mailbox} (strict) without
+ * constructing a parser or any parser results; cf. {@link #forSender(boolean)}
+ * with {@code false} argument.
+ *
+ * @param address to check
+ *
+ * @return {@link Validity} of {@code address}
+ *     ({@link Validity#UNPARSEABLE} if null or very large)
+ */
+public static Validity
+validateMailbox(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? Validity.UNPARSEABLE : p.validateForSender(false);
+}
+
+/**
+ * Validates the passed string as {@code address} (strict) without
+ * constructing a parser or any parser results; cf. {@link #forSender(boolean)}
+ * with {@code true} argument.
+ *
+ * @param address to check
+ *
+ * @return {@link Validity} of {@code address}
+ *     ({@link Validity#UNPARSEABLE} if null or very large)
+ */
+public static Validity
+validateAddress(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? Validity.UNPARSEABLE : p.validateForSender(true);
+}
+
+/**
+ * Validates the passed string as {@code mailbox-list} (strict) without
+ * constructing a parser or any parser results; cf. {@link #asMailboxList()}.
+ *
+ * @param addresses to check
+ *
+ * @return {@link Validity} of {@code addresses}
+ *     ({@link Validity#UNPARSEABLE} if null or very large)
+ */
+public static Validity
+validateMailboxList(final CharSequence addresses)
+{
+	val p = STATIC_PARSER.get().reset(addresses);
+	return p == null ? Validity.UNPARSEABLE : p.validateAsMailboxList();
+}
+
+/**
+ * Validates the passed string as {@code address-list} (strict) without
+ * constructing a parser or any parser results; cf. {@link #asAddressList()}.
+ *
+ * @param addresses to check
+ *
+ * @return {@link Validity} of {@code addresses}
+ *     ({@link Validity#UNPARSEABLE} if null or very large)
+ */
+public static Validity
+validateAddressList(final CharSequence addresses)
+{
+	val p = STATIC_PARSER.get().reset(addresses);
+	return p == null ? Validity.UNPARSEABLE : p.validateAsAddressList();
+}
+
+/**
+ * <p>Parses many inputs (strict) as the given production, spread across
+ * all cores using a parallel stream, with one reused parser per worker
+ * thread. The results are the same as from {@link #of(CharSequence)}
+ * then {@link #parse(Mode)} for each input in turn.</p>
+ *
+ * <p>The inputs must not be modified until the method returns (and, as
+ * always, while the results are in use). Use a {@link java.util.RandomAccess}
+ * list, such as {@link ArrayList}, for the work to be split up well.</p>
+ *
+ * @param inputs to parse, each may be null
+ * @param mode   production to parse each input as
+ *
+ * @return list of parser results, in the order of {@code inputs}; an
+ *     element is null if the respective input was null, very large or
+ *     does not parse; remember to call isValid() on the others!
+ *
+ * @see #validateAll(List, Mode)
+ */
+public static List<ParserResult>
+parseAll(@NonNull final List<? extends CharSequence> inputs,
+    @NonNull final Mode mode)
+{
+	return parseAll(STATIC_PARSER, cache, inputs, mode);
+}
+
+/**
+ * <p>Validates many inputs (strict) as the given production, spread
+ * across all cores using a parallel stream, without constructing any
+ * parser results; cf. {@link #parseAll(List, Mode)}.</p>
+ *
+ * @param inputs to validate, each may be null
+ * @param mode   production to validate each input as
+ *
+ * @return list of {@link Validity}, in the order of {@code inputs}
+ */
+public static List<Validity>
+validateAll(@NonNull final List<? extends CharSequence> inputs,
+    @NonNull final Mode mode)
+{
+	return validateAll(STATIC_PARSER, inputs, mode);
+}
+
+/**
+ * Implements {@link #parseAll(List, Mode)} for this class and subclasses.
+ *
+ * @param parsers per-thread parser instances of the desired class
+ * @param cache   result cache of the class, or null
+ * @param inputs  to parse, each may be null
+ * @param mode    production to parse each input as
+ * @param <T>     parser class
+ *
+ * @return list of parser results, in the order of {@code inputs}
+ */
+protected static <T extends Path> List<ParserResult>
+parseAll(final ThreadLocal<T> parsers,
+    final ClockCache<CacheKey, ParserResult> cache,
+    final List<? extends CharSequence> inputs, final Mode mode)
+{
+	return inputs.parallelStream().map((input) ->
+	    parse(parsers, cache, input, mode)).collect(Collectors.toList());
+}
+
+/**
+ * <p>Parses several header values (strict), such as those of the To, Cc
+ * and Bcc headers, as {@code address-list} and returns their {@code addr-spec}
+ * members, groups flattened as by {@link AddressList#flattenAddrSpecs()},
+ * with duplicates removed: an addr-spec is omitted if one equal to it
+ * (see {@link AddrSpec#equals(Object)}) came before.</p>
+ *
+ * <p>This uses the reused parser and cache of {@link #parse(CharSequence, Mode)},
+ * and detects duplicates by their {@link AddrSpec#fingerprint()} in an
+ * open-addressing table, constructing canonical keys only to confirm them.</p>
+ *
+ * @param headers values to parse, each may be null (absent)
+ *
+ * @return null if a header value was very large or does not parse,
+ *     the distinct addr-specs in order of first occurrence otherwise;
+ *     remember to call isValid() on them!
+ */
+public static List<AddrSpec>
+recipients(@NonNull final CharSequence... headers)
+{
+	return recipients(STATIC_PARSER, cache, headers);
+}
+
+/**
+ * Implements {@link #recipients(CharSequence...)} for this class and subclasses.
+ *
+ * @param parsers per-thread parser instances of the desired class
+ * @param cache   result cache of the class, or null
+ * @param headers values to parse, each may be null
+ * @param <T>     parser class
+ *
+ * @return distinct addr-specs, or null
+ */
+protected static <T extends Path> List<AddrSpec>
+recipients(final ThreadLocal<T> parsers,
+    final ClockCache<CacheKey, ParserResult> cache,
+    final CharSequence[] headers)
+{
+	final AddrSpecSet rv = new AddrSpecSet();
+	for (final CharSequence header : headers) {
+		if (header == null)
+			continue;
+		final AddressList l = (AddressList)parse(parsers, cache,
+		    header, Mode.ADDRESS_LIST);
+		if (l == null)
+			return null;
+		for (final Address address : l.addresses)
+			if (address.group)
+				for (final Address mailbox : address.mailboxen)
+					rv.add(mailbox.mailbox);
+			else
+				rv.add(address.mailbox);
+	}
+	return rv.list;
+}
+
+/**
+ * Insertion-ordered set of {@link AddrSpec}s, by canonical form: an
+ * open-addressing hash table of their fingerprints (kept at most half
+ * full) and indices into the list of members.
+ */
+private static final class AddrSpecSet {
+
+	final ArrayList<AddrSpec> list = new ArrayList<>();
+	private long[] fps = new long[64];
+	/**
+	 * Index into {@link #list} plus one; 0 marks an empty slot.
+	 */
+	private int[] idx = new int[64];
+
+	void
+	add(final AddrSpec as)
+	{
+		final long fp = as.fingerprint();
+		final int m = fps.length - 1;
+		int i = (int)fp & m;
+		while (idx[i] != 0) {
+			if (fps[i] == fp && list.get(idx[i] - 1).canonicalKey().
+			    equals(as.canonicalKey()))
+				return;
+			i = (i + 1) & m;
+		}
+		list.add(as);
+		fps[i] = fp;
+		idx[i] = list.size();
+		if (2 * list.size() > fps.length)
+			grow();
+	}
+
+	private void
+	grow()
+	{
+		final long[] ofps = fps;
+		final int[] oidx = idx;
+		fps = new long[ofps.length * 2];
+		idx = new int[oidx.length * 2];
+		final int m = fps.length - 1;
+		for (int j = 0; j < ofps.length; ++j)
+			if (oidx[j] != 0) {
+				int i = (int)ofps[j] & m;
+				while (idx[i] != 0)
+					i = (i + 1) & m;
+				fps[i] = ofps[j];
+				idx[i] = oidx[j];
+			}
+	}
+
+}
+
+/**
+ * <p>Key for the result cache, see {@link #setCache(ClockCache)}: the
+ * production parsed as and the exact input.</p>
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+public static final class CacheKey {
+
+	private final Mode mode;
+	private final String input;
+
+	private CacheKey(final Mode mode, final String input)
+	{
+		this.mode = mode;
+		this.input = input;
+	}
+
+	@Override
+	public boolean
+	equals(final Object o)
+	{
+		if (this == o)
+			return true;
+		if (!(o instanceof CacheKey))
+			return false;
+		final CacheKey other = (CacheKey)o;
+		return mode == other.mode && input.equals(other.input);
+	}
+
+	@Override
+	public int
+	hashCode()
+	{
+		return input.hashCode() * 31 + mode.ordinal();
+	}
+
+}
+
+/**
+ * Cached in place of null (input does not parse), which a
+ * {@link ClockCache} cannot hold.
+ */
+private static final ParserResult UNPARSEABLE = new ParserResult() {
+	@Override
+	public boolean
+	isValid()
+	{
+		return false;
+	}
+
+	@Override
+	public String
+	toString()
+	{
+		return "(unparseable)";
+	}
+};
+
+private static volatile ClockCache<CacheKey, ParserResult> cache = null;
+
+/**
+ * <p>Sets (or, with null, removes) a cache for the results of the static
+ * {@link #parse(CharSequence, Mode)} and {@link #parseAll(List, Mode)}
+ * methods, keyed by the production and the exact input, so that inputs
+ * seen before, such as the From: header of bulk mail, cost a hash lookup
+ * instead of a parse. No cache is used by default.</p>
+ *
+ * <p>The cache is shared by all threads and may be queried for hit and
+ * miss statistics via {@link #getCache()}. The results are immutable,
+ * so the same instance may be returned to many threads. Use a separate
+ * cache for {@link UXAddress}.</p>
+ *
+ * @param newCache cache to use from now on, or null to not cache
+ */
+public static void
+setCache(final ClockCache<CacheKey, ParserResult> newCache)
+{
+	cache = newCache;
+}
+
+/**
+ * Returns the cache set by {@link #setCache(ClockCache)}.
+ *
+ * @return cache currently in use, or null if none
+ */
+public static ClockCache<CacheKey, ParserResult>
+getCache()
+{
+	return cache;
+}
+
+/**
+ * <p>Parses an input (strict) as the given production, the same as
+ * {@link #of(CharSequence)} then {@link #parse(Mode)} but with a reused
+ * parser and, if set, the cache from {@link #setCache(ClockCache)}.</p>
+ *
+ * <p>With a cache, the input is copied (if not a {@link String}) so the
+ * results do not depend on it.</p>
+ *
+ * @param input to parse
+ * @param mode  production to parse the input as
+ *
+ * @return null if the input was null, very large or does not parse,
+ *     the parser result otherwise; remember to call isValid()!
+ */
+public static ParserResult
+parse(final CharSequence input, @NonNull final Mode mode)
+{
+	return parse(STATIC_PARSER, cache, input, mode);
+}
+
+/**
+ * Implements {@link #parse(CharSequence, Mode)} for this class and subclasses.
+ *
+ * @param parsers per-thread parser instances of the desired class
+ * @param cache   result cache of the class, or null
+ * @param input   to parse, may be null
+ * @param mode    production to parse the input as
+ * @param <T>     parser class
+ *
+ * @return parser result, or null
+ */
+protected static <T extends Path> ParserResult
+parse(final ThreadLocal<T> parsers,
+    final ClockCache<CacheKey, ParserResult> cache,
+    final CharSequence input, final Mode mode)
+{
+	if (cache == null || input == null) {
+		final Path p = parsers.get().reset(input);
+		return p == null ? null : p.parse(mode);
+	}
+	final String s = input.toString();
+	final CacheKey key = new CacheKey(mode, s);
+	final ParserResult cached = cache.get(key);
+	if (cached != null)
+		return cached == UNPARSEABLE ? null : cached;
+	final Path p = parsers.get().reset(s);
+	// very large inputs are not cached
+	if (p == null)
+		return null;
+	final ParserResult rv = p.parse(mode);
+	cache.put(key, rv == null ? UNPARSEABLE : rv);
+	return rv;
+}
+
+/**
+ * Implements {@link #validateAll(List, Mode)} for this class and subclasses.
+ *
+ * @param parsers per-thread parser instances of the desired class
+ * @param inputs  to validate, each may be null
+ * @param mode    production to validate each input as
+ * @param <T>     parser class
+ *
+ * @return list of {@link Validity}, in the order of {@code inputs}
+ */
+protected static <T extends Path> List<Validity>
+validateAll(final ThreadLocal<T> parsers,
+    final List<? extends CharSequence> inputs, final Mode mode)
+{
+	return inputs.parallelStream().map((input) -> {
+		final Path p = parsers.get().reset(input);
+		return p == null ? Validity.UNPARSEABLE : p.validate(mode);
+	}).collect(Collectors.toList());
+}
+
+/**
+ * Reinitialises this parser instance for reuse with new input. Results
+ * from parsing the previous input remain valid.
+ *
+ * @param addresses to parse
+ *
+ * @return null if {@code addresses} was null or very large (the parser
+ *     then cannot be used until reset again), this parser otherwise
+ */
+public Path
+reset(final CharSequence addresses)
+{
+	return init(addresses) ? this : null;
+}
+
+/**
+ * Reinitialises this parser instance for reuse with a range of new input.
+ * Results from parsing the previous input remain valid.
+ *
+ * @param addresses to parse
+ * @param beg       offset of the first character of the range to parse
+ * @param end       offset after the last character of the range to parse
+ *
+ * @return null if {@code addresses} was null or very large (the parser
+ *     then cannot be used until reset again), this parser otherwise
+ *
+ * @throws IndexOutOfBoundsException if the range is not within the input
+ */
+public Path
+reset(final CharSequence addresses, final int beg, final int end)
+{
+	return init(addresses, beg, end) ? this : null;
+}
+
+/**
+ * Private constructor. Use the factory method {@link #of(CharSequence)} instead.
+ *
+ * @param input string to analyse
+ */
+protected Path(final CharSequence input)
+{
+	super(input, /* arbitrary but extremely large already */ 131072);
+}
+
+// memoised productions, see memoSlot()
+private static final int MEMO_CFWS = 0;
+private static final int MEMO_PHRASE = 1;
+private static final int MEMO_MAILBOX = 2;
+private static final int MEMO_GROUP = 3;
+private static final int MEMO_NPROD = 4;
+
+/**
+ * Whether production results are memoised.
+ */
+private boolean memoising;
+/**
+ * Input length plus one the memo tables are set up for; 0 if they must
+ * be (re)initialised before use.
+ */
+private int memoStride;
+/**
+ * End position plus one, per production and start position; 0 if the
+ * production was not yet parsed at that position.
+ */
+private int[] memoEnd;
+/**
+ * Parse result (possibly null), per production and start position.
+ */
+private Object[] memoVal;
+
+/**
+ * <p>Enables or disables memoisation (“packrat parsing”) of the results of
+ * productions tried as alternatives at the same position: {@code CFWS},
+ * {@code phrase} (display names), {@code mailbox} and {@code group}. With
+ * it, these are analysed at most once per input position, even across
+ * calls to different parse methods (such as {@link #asAddressList()} after
+ * {@link #asMailboxList()}) for the same input, which speeds up inputs with
+ * long display names or lots of comments at the cost of memory linear in
+ * the input length. It is disabled by default.</p>
+ *
+ * <p>The other productions ({@code name-addr}, {@code addr-spec} and the
+ * words within them) are not memoised; they are reparsed only by the
+ * alternatives of one {@code mailbox} attempt, that is, at most a constant
+ * number of times. With memoisation, parsing a list thus takes time
+ * linear in its length, even with many comments and display names;
+ * without it, the same productions may be analysed repeatedly.</p>
+ *
+ * <p>This setting is retained when the parser is reinitialised.</p>
+ *
+ * @param memoising whether to memoise production results
+ */
+public void
+setMemoising(final boolean memoising)
+{
+	this.memoising = memoising;
+	if (memoising)
+		memoClear();
+	else {
+		memoStride = 0;
+		memoEnd = null;
+		memoVal = null;
+	}
+}
+
+/**
+ * Returns whether production results are memoised.
+ *
+ * @return true if memoisation is enabled
+ *
+ * @see #setMemoising(boolean)
+ */
+public boolean
+isMemoising()
+{
+	return memoising;
+}
+
+@Override
+protected boolean
+init(final CharSequence input, final int beg, final int end)
+{
+	memoClear();
+	return super.init(input, beg, end);
+}
+
+/**
+ * Invalidates the memo tables, releasing the results they hold.
+ */
+private void
+memoClear()
+{
+	if (memoStride == 0)
+		return;
+	final int size = memoStride * MEMO_NPROD + 1;
+	Arrays.fill(memoEnd, 0, size, 0);
+	Arrays.fill(memoVal, 0, size, null);
+	memoStride = 0;
+}
+
+/**
+ * Looks up the memo table slot for a production at the current position.
+ * If the production was already parsed there, the position is moved past
+ * its end as if it were parsed again.
+ *
+ * @param prod memoised production (MEMO_*)
+ *
+ * @return -1 if not memoising, {@code ~slot} if the result is memoised
+ *     in {@link #memoVal}[slot], the slot to pass to
+ *     {@link #memoPut(int, Object)} after parsing otherwise; slots
+ *     begin at 1 so that the former two are distinct
+ */
+private int
+memoSlot(final int prod)
+{
+	if (!memoising)
+		return -1;
+	if (memoStride == 0) {
+		final int stride = length() + 1;
+		final int size = stride * MEMO_NPROD + 1;
+		// otherwise, still cleared by memoClear()
+		if (memoEnd == null || memoEnd.length < size) {
+			memoEnd = new int[size];
+			memoVal = new Object[size];
+		}
+		memoStride = stride;
+	}
+	final int slot = 1 + prod * memoStride + pos();
+	final int end = memoEnd[slot];
+	if (end == 0)
+		return slot;
+	jmp(end - 1);
+	return ~slot;
+}
+
+/**
+ * Stores a production result in the memo table, if memoising.
+ *
+ * @param slot as returned by {@link #memoSlot(int)}
+ * @param rv   result of the production, the position must be just past it
+ * @param <T>  type of the result
+ *
+ * @return rv
+ */
+private <T> T
+memoPut(final int slot, final T rv)
+{
+	if (slot >= 0) {
+		memoEnd[slot] = pos() + 1;
+		memoVal[slot] = rv;
+	}
+	return rv;
+}
+
+/**
+ * Parses the address as {@code mailbox-list}, such as for the {@code From}
  * and {@code Resent-From} headers. See {@link #asAddressList()} for RFC6854’s
  * RFC2026 §3.3(d) Limited Use though.
  *
@@ -621,63 +2043,201 @@ public AddressList
 asMailboxList()
 {
 	jmp(0);
-	final AddressList rv = pMailboxList();
-	return cur() == -1 ? rv : null;
+	final AddressList rv = pMailboxList();
+	return cur() == -1 ? rv : null;
+}
+
+/**
+ * <p>Parses the address for the {@code Sender} and {@code Resent-Sender} headers.</p>
+ *
+ * <p>These headers normally use the {@code mailbox} production, but RFC6854
+ * allows for the {@code address} production under the RFC2026 §3.3(d) Limited
+ * Use caveat that permits it but only for specific circumstances.</p>
+ *
+ * @param allowRFC6854forLimitedUse use address instead of mailbox parsing
+ *
+ * @return parser result; remember to call isValid() on it first!
+ */
+public Address
+forSender(final boolean allowRFC6854forLimitedUse)
+{
+	jmp(0);
+	final Address rv = allowRFC6854forLimitedUse ? pAddress() : pMailbox();
+	return cur() == -1 ? rv : null;
+}
+
+/**
+ * <p>Parses the address as {@code addr-spec} (unlabelled address).</p>
+ *
+ * <p>This method is mostly used in input validation or for constructing
+ * arguments for invoking an MSA. It may be better in most cases to instead
+ * use {@link #forSender(boolean)}(false) which permits {@code mailbox}en
+ * like “{@code user <lcl@example.com>}” then extract the {@code addr-spec}
+ * “{@code lcl@example.com}” from the return value via {@code getMailbox()}.</p>
+ *
+ * @return parser result; remember to call isValid() on it first!
+ */
+public AddrSpec
+asAddrSpec()
+{
+	jmp(0);
+	final AddrSpec rv = pAddrSpec();
+	return cur() == -1 ? rv : null;
+}
+
+/**
+ * Parses the address as {@code address-list}, such as for the {@code Reply-To},
+ * {@code To}, {@code Cc}, (optionally) {@code Bcc}, {@code Resent-To},&nbsp;…
+ * headers. RFC6854 (under RFC2026 §3.3(d) Limited Use circumstances) permits
+ * using this production for the {@code From} and {@code Resent-From} headers,
+ * normally covered by the {@link #asMailboxList()} method.
+ *
+ * @return parser result; remember to call isValid() on it first!
+ */
+public AddressList
+asAddressList()
+{
+	jmp(0);
+	final AddressList rv = pAddressList();
+	return cur() == -1 ? rv : null;
+}
+
+/**
+ * <p>Parses the address as all of {@code addr-spec}, {@code mailbox},
+ * {@code address}, {@code mailbox-list} and {@code address-list}, at the
+ * cost of (usually) one parse instead of one per production.</p>
+ *
+ * <p>This works because each of these productions, parsed from the start
+ * of the input to its end, is an {@code address-list} with restrictions:
+ * a {@code mailbox-list} contains no {@code group}, an {@code address} is
+ * the only list member, and so on; the respective method results are thus
+ * derived from the {@code address-list} parse result.</p>
+ *
+ * @return classification, never null; remember to call isValid() on
+ *     the members before use!
+ */
+public Classification
+classify()
+{
+	jmp(0);
+	final AddressList al = pAddressList();
+	if (al == null || cur() != -1)
+		return new Classification(null, null, null, null, null);
+	final Address a = al.addresses.size() == 1 ? al.addresses.get(0) : null;
+	final Address m = a != null && !a.group ? a : null;
+	return new Classification(m != null && m.bare ? m.mailbox : null,
+	    m, a, al.addressList ? null : al, al);
+}
+
+private Validity
+validity(final int rv)
+{
+	return cur() == -1 ? VALIDITY[rv] : Validity.UNPARSEABLE;
+}
+
+/**
+ * Validates the address as {@code addr-spec}, with the same outcome as
+ * {@link #asAddrSpec()} but without constructing any parser results.
+ *
+ * @return {@link Validity} of the input
+ */
+public Validity
+validateAsAddrSpec()
+{
+	jmp(0);
+	return validity(vAddrSpec());
+}
+
+/**
+ * Validates the address for the {@code Sender} and {@code Resent-Sender}
+ * headers, with the same outcome as {@link #forSender(boolean)} but
+ * without constructing any parser results.
+ *
+ * @param allowRFC6854forLimitedUse use address instead of mailbox parsing
+ *
+ * @return {@link Validity} of the input
+ */
+public Validity
+validateForSender(final boolean allowRFC6854forLimitedUse)
+{
+	jmp(0);
+	return validity(allowRFC6854forLimitedUse ? vAddress() : vMailbox());
+}
+
+/**
+ * Validates the address as {@code mailbox-list}, with the same outcome as
+ * {@link #asMailboxList()} but without constructing any parser results.
+ *
+ * @return {@link Validity} of the input
+ */
+public Validity
+validateAsMailboxList()
+{
+	jmp(0);
+	return validity(vMailboxList());
 }
 
 /**
- * <p>Parses the address for the {@code Sender} and {@code Resent-Sender} headers.</p>
- *
- * <p>These headers normally use the {@code mailbox} production, but RFC6854
- * allows for the {@code address} production under the RFC2026 §3.3(d) Limited
- * Use caveat that permits it but only for specific circumstances.</p>
+ * Validates the address as {@code address-list}, with the same outcome as
+ * {@link #asAddressList()} but without constructing any parser results.
  *
- * @param allowRFC6854forLimitedUse use address instead of mailbox parsing
- *
- * @return parser result; remember to call isValid() on it first!
+ * @return {@link Validity} of the input
  */
-public Address
-forSender(final boolean allowRFC6854forLimitedUse)
+public Validity
+validateAsAddressList()
 {
 	jmp(0);
-	final Address rv = allowRFC6854forLimitedUse ? pAddress() : pMailbox();
-	return cur() == -1 ? rv : null;
+	return validity(vAddressList());
 }
 
 /**
- * <p>Parses the address as {@code addr-spec} (unlabelled address).</p>
+ * Parses the address as the given production, by calling the respective
+ * method, such as {@link #asAddressList()} for {@link Mode#ADDRESS_LIST}.
  *
- * <p>This method is mostly used in input validation or for constructing
- * arguments for invoking an MSA. It may be better in most cases to instead
- * use {@link #forSender(boolean)}(false) which permits {@code mailbox}en
- * like “{@code user <lcl@example.com>}” then extract the {@code addr-spec}
- * “{@code lcl@example.com}” from the return value via {@code getMailbox()}.</p>
+ * @param mode production to parse as
  *
  * @return parser result; remember to call isValid() on it first!
  */
-public AddrSpec
-asAddrSpec()
+public ParserResult
+parse(@NonNull final Mode mode)
 {
-	jmp(0);
-	final AddrSpec rv = pAddrSpec();
-	return cur() == -1 ? rv : null;
+	switch (mode) {
+	case ADDR_SPEC:
+		return asAddrSpec();
+	case MAILBOX:
+		return forSender(false);
+	case ADDRESS:
+		return forSender(true);
+	case MAILBOX_LIST:
+		return asMailboxList();
+	default:
+		return asAddressList();
+	}
 }
 
 /**
- * Parses the address as {@code address-list}, such as for the {@code Reply-To},
- * {@code To}, {@code Cc}, (optionally) {@code Bcc}, {@code Resent-To},&nbsp;…
- * headers. RFC6854 (under RFC2026 §3.3(d) Limited Use circumstances) permits
- * using this production for the {@code From} and {@code Resent-From} headers,
- * normally covered by the {@link #asMailboxList()} method.
+ * Validates the address as the given production, by calling the respective
+ * method, such as {@link #validateAsAddressList()} for {@link Mode#ADDRESS_LIST}.
  *
- * @return parser result; remember to call isValid() on it first!
+ * @param mode production to validate as
+ *
+ * @return {@link Validity} of the input
  */
-public AddressList
-asAddressList()
+public Validity
+validate(@NonNull final Mode mode)
 {
-	jmp(0);
-	final AddressList rv = pAddressList();
-	return cur() == -1 ? rv : null;
+	switch (mode) {
+	case ADDR_SPEC:
+		return validateAsAddrSpec();
+	case MAILBOX:
+		return validateForSender(false);
+	case ADDRESS:
+		return validateForSender(true);
+	case MAILBOX_LIST:
+		return validateAsMailboxList();
+	default:
+		return validateAsAddressList();
+	}
 }
 
 protected AddressList
@@ -690,7 +2250,7 @@ pAddressList()
 		ofs.commit();
 		val rv = new ArrayList<Address>();
 		rv.add(a);
-		while (cur() == ',') {
+		while (isAddressListSeparator()) {
 			accept();
 			final Address a2 = pAddress();
 			if (a2 == null)
@@ -702,6 +2262,13 @@ pAddressList()
 	}
 }
 
+// overridable for UX subclass
+protected boolean
+isAddressListSeparator()
+{
+	return cur() == ',';
+}
+
 // overridable for UX subclass
 protected boolean
 isMailboxListSeparator()
@@ -744,6 +2311,15 @@ pAddress()
 
 protected Address
 pGroup()
+{
+	final int slot = memoSlot(MEMO_GROUP);
+	if (slot < -1)
+		return (Address)memoVal[~slot];
+	return memoPut(slot, pGroupUnmemoised());
+}
+
+private Address
+pGroupUnmemoised()
 {
 	try (val ofs = new Parser.Txn()) {
 		final Substring dn = pDisplayName();
@@ -756,7 +2332,7 @@ pGroup()
 		final AddressList ml = pMailboxList();
 		if (ml == null)
 			pCFWS();
-		final List<Address> gl = ml == null ? new ArrayList<>() : ml.addresses;
+		final List<Address> gl = ml == null ? Collections.emptyList() : ml.addresses;
 		// } [pGroupList]
 		if (cur() != ';')
 			return null;
@@ -768,13 +2344,22 @@ pGroup()
 
 protected Address
 pMailbox()
+{
+	final int slot = memoSlot(MEMO_MAILBOX);
+	if (slot < -1)
+		return (Address)memoVal[~slot];
+	return memoPut(slot, pMailboxUnmemoised());
+}
+
+private Address
+pMailboxUnmemoised()
 {
 	final Address na = pNameAddr();
 	if (na != null)
 		return na;
 	final AddrSpec as = pAddrSpec();
 	if (as != null)
-		return new Address(null, as);
+		return new Address(null, as, true);
 	return null;
 }
 
@@ -817,6 +2402,15 @@ pDisplayName()
 
 protected Substring
 pPhrase()
+{
+	final int slot = memoSlot(MEMO_PHRASE);
+	if (slot < -1)
+		return (Substring)memoVal[~slot];
+	return memoPut(slot, pPhraseUnmemoised());
+}
+
+private Substring
+pPhraseUnmemoised()
 {
 	final int beg = pos();
 	pCFWS();
@@ -827,18 +2421,13 @@ pPhrase()
 		jmp(beg);
 		return null;
 	}
-	StringBuilder d = new StringBuilder();
+	final int dbeg = w.body.beg;
 	int lpos;
 	do {
-		d.append(w.body.getData() == null ? w.body.toString() :
-		    (String)w.body.getData());
 		lpos = w.body.end;
-		val wsp = w.cfws;
 		w = pWord();
-		if (w != null && wsp != null)
-			d.append(unfold(wsp).toString());
 	} while (w != null);
-	return unfold(new Substring(ofs, lpos, d.toString()));
+	return new UnfoldedSubstring(ofs, lpos, dbeg);
 }
 
 protected Word
@@ -871,7 +2460,7 @@ pAtom()
 		if (!isAtext(cur()))
 			return null;
 		ofs.commit();
-		skip(Path::isAtext);
+		skip(ATEXT);
 		val atom = ofs.substring();
 		val wsp = pCFWS();
 		return ofs.accept(new Word(atom, wsp));
@@ -902,6 +2491,22 @@ pQcontent()
 	return pQuotedPair();
 }
 
+/**
+ * Like {@link #pQcontent()} but skipping runs of {@code qtext} at once,
+ * for use in loops that do not need the characters.
+ *
+ * @return true if at least one qcontent was skipped
+ */
+private boolean
+skipQcontent()
+{
+	if (isQtext(cur())) {
+		skip(QTEXT);
+		return true;
+	}
+	return pQuotedPair() != -1;
+}
+
 /**
  * <p>Returns the parse result of the {@code quoted-string} production:</p>
  *
@@ -924,23 +2529,14 @@ pQuotedString()
 		final int content = pos();
 		accept();
 
-		StringBuilder rv = new StringBuilder();
-		while (true) {
-			val wsp = pFWS();
-			if (wsp != null)
-				rv.append(unfold(wsp).toString());
-			final int qc = pQcontent();
-			if (qc == -1)
-				break;
-			// note: this only works because we know qc is ASCII
-			// otherwise we’d have to do .append(Character.toChars(qc))
-			rv.append((char)qc);
-		}
+		do {
+			pFWS();
+		} while (skipQcontent());
 		// [FWS] after *([FWS] qcontent) already parsed above
 		if (cur() != '"')
 			return null;
 		accept();
-		val qs = unfold(new Substring(content, pos(), rv.toString()));
+		val qs = new UnfoldedSubstring(content, pos(), content);
 		val wsp = pCFWS();
 		return ofs.accept(new Word(qs, wsp));
 	}
@@ -961,41 +2557,18 @@ protected Substring
 pFWS()
 {
 	final int beg = pos();
-	Substring w = null;
-
-	int c = cur();
-	if (isWSP(c)) {
-		c = skip(Path::isWSP);
-		w = new Substring(beg, pos());
-	}
-
-	if (c != 0x0D && c != 0x0A)
-		return w;
-	final int c2 = peek();
-	if (c == 0x0D && c2 == 0x0A) {
-		// possibly need backtracking
-		if (!isWSP(bra(2))) {
-			bra(-2);
-			return w;
-		}
-	} else {
-		if (!isWSP(c2))
-			return w;
-		accept();
-	}
-
-	skip(Path::isWSP);
-	return new Substring(beg, pos());
+	return vFWS() ? new Substring(beg, pos()) : null;
 }
 
 protected boolean
 pCcontent()
 {
 	if (isCtext(cur())) {
-		accept();
+		// the whole run, as callers loop anyway
+		skip(CTEXT);
 		return true;
 	}
-	return pQuotedPair() != -1 || pComment() != null;
+	return pQuotedPair() != -1 || vComment();
 }
 
 /**
@@ -1007,19 +2580,8 @@ pCcontent()
 protected Substring
 pComment()
 {
-	try (val ofs = new Parser.Txn()) {
-		if (cur() != '(')
-			return null;
-		accept();
-		do {
-			pFWS();
-		} while (pCcontent());
-		// [FWS] after *([FWS] ccontent) already parsed above
-		if (cur() != ')')
-			return null;
-		accept();
-		return ofs.accept(ofs.substring());
-	}
+	final int beg = pos();
+	return vComment() ? new Substring(beg, pos()) : null;
 }
 
 /**
@@ -1029,18 +2591,18 @@ pComment()
  */
 protected Substring
 pCFWS()
+{
+	final int slot = memoSlot(MEMO_CFWS);
+	if (slot < -1)
+		return (Substring)memoVal[~slot];
+	return memoPut(slot, pCFWSUnmemoised());
+}
+
+private Substring
+pCFWSUnmemoised()
 {
 	final int beg = pos();
-	val wsp = pFWS();
-	// second alternative (FWS⇒success or null⇒failure)?
-	if (pComment() == null)
-		return wsp;
-	// first alternative, at least one comment, optional FWS before
-	do {
-		pFWS();
-	} while (pComment() != null);
-	// [FWS] after 1*([FWS] comment) already parsed above
-	return new Substring(beg, pos());
+	return vCFWS() ? new Substring(beg, pos()) : null;
 }
 
 protected Substring
@@ -1055,7 +2617,7 @@ pDotAtom()
 		int c;
 		do {
 			accept(); // first round: first atext; other rounds: dot
-			c = skip(Path::isAtext);
+			c = skip(ATEXT);
 		} while (c == '.' && isAtext(peek()));
 		// } pDotAtomText
 		val rv = ofs.substring();
@@ -1072,12 +2634,9 @@ pLocalPart()
 	if (da == null && qs == null)
 		return null;
 	final Substring ss = da == null ? qs.body : da;
-	final String us = ss.toString();
-	// us is always unfolded because:
-	// - pDotAtom returns a raw Substring comprised of atext and ‘.’ only
-	// - pQuotedString returns UnfoldedSubstring
-	boolean v = us.length() <= 64 && us.indexOf(0x09) == -1;
-	return new AddrSpecSIDE(ss, us, v);
+	// checks on the unfolded representation, without constructing it
+	boolean v = unfoldedLength(ss) <= 64 && !contains(ss, (char)0x09);
+	return new AddrSpecSIDE(ss, v);
 }
 
 protected Substring
@@ -1091,7 +2650,7 @@ pDomainLiteral()
 		accept();
 		pFWS();
 		while (isDtext(cur())) {
-			accept();
+			skip(DTEXT);
 			pFWS();
 		}
 		if (cur() != ']')
@@ -1113,12 +2672,10 @@ pDomain()
 	final Substring dl = pDomainLiteral();
 	if (dl == null)
 		return null;
-	final String dls = dl.toString();
-	final String dlu = unfold(dls);
-	final String us = dlu == null ? dls : dlu;
+	final String us = unfolded(dl);
 	// validation "must not contain HTAB" implicit from IPAddress check
 	InetAddress v;
-	if (us.toLowerCase(Locale.ROOT).startsWith("[ipv6:")) {
+	if (us.toLowerCase(Locale.ROOT).startsWith(IPV6_TAG)) {
 		final String addr = us.substring(6, us.length() - 1);
 		v = IPAddress.v6(addr);
 	} else {
@@ -1132,9 +2689,9 @@ protected AddrSpecSIDE
 pDomainDotAtom(final Substring da)
 {
 	// dot-atom form of domain, does not need unfolding
-	final String us = da.toString();
-	boolean v = FQDN.isDomain(us);
-	return new AddrSpecSIDE(da, us, v);
+	final int base = inputOffset();
+	boolean v = FQDN.isDomain(input(), base + da.beg, base + da.end);
+	return new AddrSpecSIDE(da, v);
 }
 
 protected AddrSpec
@@ -1153,9 +2710,412 @@ pAddrSpec()
 		final boolean v = lp.isValid() && ((dom instanceof AddrSpecSIDE) ?
 		    ((AddrSpecSIDE)dom).isValid() : dom.getData() != null) &&
 		    /* local-part + '@' + domain; octets = characters (ASCII) */
-		    (lp.toString().length() + 1 + dom.toString().length()) <= 254;
+		    (unfoldedLength(lp) + 1 + unfoldedLength(dom)) <= 254;
 		return ofs.accept(new AddrSpec(lp, dom, v));
 	}
 }
 
+/*
+ * Recognisers: the v*() methods below accept the same input as their p*()
+ * counterparts above, moving the position the same way, but construct no
+ * results, so that validation does not allocate memory. They return V_NONE
+ * if the production does not parse (restoring the position), V_INVALID or
+ * V_VALID otherwise (the minimum over all constituents), or a boolean if
+ * the production has no validity of its own. The recognisers are private
+ * except vDomainDotAtom(), so the only grammar changes that validation
+ * follows are the list separator hooks, which both share, and the domain
+ * hook, where subclasses must override pDomainDotAtom() and vDomainDotAtom()
+ * together; overriding any other p*() method affects parsing only. Dot-atom,
+ * quoted-string and domain-literal recognisers store the position of their
+ * content in vbeg/vend; domain recognisers store its (unfolded) length in
+ * vlen.
+ */
+
+private static final String IPV6_TAG = "[ipv6:";
+
+private int vbeg;
+private int vend;
+private int vlen;
+
+private int
+unfoldedLength(final int beg, final int end)
+{
+	int n = 0;
+	for (int i = beg; i < end; ++i)
+		if (!isCRLF(charAt(i)))
+			++n;
+	return n;
+}
+
+private boolean
+containsTab(final int beg, final int end)
+{
+	for (int i = beg; i < end; ++i)
+		if (charAt(i) == 0x09)
+			return true;
+	return false;
+}
+
+private boolean
+containsFWS(final int beg, final int end)
+{
+	for (int i = beg; i < end; ++i) {
+		final char c = charAt(i);
+		if (isWSP(c) || isCRLF(c))
+			return true;
+	}
+	return false;
+}
+
+private int
+vAddressList()
+{
+	int rv = vAddress();
+	if (rv == V_NONE)
+		return V_NONE;
+	int sp = pos();
+	while (isAddressListSeparator()) {
+		accept();
+		final int rv2 = vAddress();
+		if (rv2 == V_NONE)
+			break;
+		sp = pos();
+		rv = Math.min(rv, rv2);
+	}
+	jmp(sp);
+	return rv;
+}
+
+private int
+vMailboxList()
+{
+	int rv = vMailbox();
+	if (rv == V_NONE)
+		return V_NONE;
+	int sp = pos();
+	while (isMailboxListSeparator()) {
+		accept();
+		final int rv2 = vMailbox();
+		if (rv2 == V_NONE)
+			break;
+		sp = pos();
+		rv = Math.min(rv, rv2);
+	}
+	jmp(sp);
+	return rv;
+}
+
+private int
+vAddress()
+{
+	final int rv = vMailbox();
+	return rv != V_NONE ? rv : vGroup();
+}
+
+private int
+vGroup()
+{
+	final int beg = pos();
+	if (!vPhrase() || cur() != ':') {
+		jmp(beg);
+		return V_NONE;
+	}
+	accept();
+	int rv = vMailboxList();
+	if (rv == V_NONE) {
+		// empty group-list
+		vCFWS();
+		rv = V_VALID;
+	}
+	if (cur() != ';') {
+		jmp(beg);
+		return V_NONE;
+	}
+	accept();
+	vCFWS();
+	return rv;
+}
+
+private int
+vMailbox()
+{
+	final int rv = vNameAddr();
+	return rv != V_NONE ? rv : vAddrSpec();
+}
+
+private int
+vNameAddr()
+{
+	final int beg = pos();
+	vPhrase();
+	final int rv = vAngleAddr();
+	if (rv == V_NONE)
+		jmp(beg);
+	return rv;
+}
+
+private int
+vAngleAddr()
+{
+	final int beg = pos();
+	vCFWS();
+	if (cur() != '<') {
+		jmp(beg);
+		return V_NONE;
+	}
+	accept();
+	final int rv = vAddrSpec();
+	if (rv == V_NONE || cur() != '>') {
+		jmp(beg);
+		return V_NONE;
+	}
+	accept();
+	vCFWS();
+	return rv;
+}
+
+private boolean
+vPhrase()
+{
+	final int beg = pos();
+	vCFWS();
+	if (!vWord()) {
+		jmp(beg);
+		return false;
+	}
+	while (vWord()) {
+		// nothing
+	}
+	return true;
+}
+
+private boolean
+vWord()
+{
+	return vAtom() || vQuotedString();
+}
+
+private boolean
+vAtom()
+{
+	final int beg = pos();
+	vCFWS();
+	if (!isAtext(cur())) {
+		jmp(beg);
+		return false;
+	}
+	skip(ATEXT);
+	vCFWS();
+	return true;
+}
+
+private boolean
+vQuotedString()
+{
+	final int beg = pos();
+	vCFWS();
+	if (cur() != '"') {
+		jmp(beg);
+		return false;
+	}
+	final int content = pos();
+	accept();
+	do {
+		vFWS();
+	} while (skipQcontent());
+	// [FWS] after *([FWS] qcontent) already parsed above
+	if (cur() != '"') {
+		jmp(beg);
+		return false;
+	}
+	accept();
+	vbeg = content;
+	vend = pos();
+	vCFWS();
+	return true;
+}
+
+private boolean
+vFWS()
+{
+	final int beg = pos();
+
+	int c = cur();
+	if (isWSP(c))
+		c = skip(WSP);
+
+	if (c != 0x0D && c != 0x0A)
+		return pos() != beg;
+	final int c2 = peek();
+	if (c == 0x0D && c2 == 0x0A) {
+		// possibly need backtracking
+		if (!isWSP(bra(2))) {
+			bra(-2);
+			return pos() != beg;
+		}
+	} else {
+		if (!isWSP(c2))
+			return pos() != beg;
+		accept();
+	}
+
+	skip(WSP);
+	return true;
+}
+
+private boolean
+vComment()
+{
+	if (cur() != '(')
+		return false;
+	final int beg = pos();
+	accept();
+	do {
+		vFWS();
+	} while (pCcontent());
+	// [FWS] after *([FWS] ccontent) already parsed above
+	if (cur() != ')') {
+		jmp(beg);
+		return false;
+	}
+	accept();
+	return true;
+}
+
+private boolean
+vCFWS()
+{
+	final int beg = pos();
+	vFWS();
+	// second alternative (FWS⇒success or nothing⇒failure)?
+	if (!vComment())
+		return pos() != beg;
+	// first alternative, at least one comment, optional FWS before
+	do {
+		vFWS();
+	} while (vComment());
+	// [FWS] after 1*([FWS] comment) already parsed above
+	return true;
+}
+
+private boolean
+vDotAtom()
+{
+	final int beg = pos();
+	vCFWS();
+	if (!isAtext(cur())) {
+		jmp(beg);
+		return false;
+	}
+	vbeg = pos();
+	int c;
+	do {
+		accept(); // first round: first atext; other rounds: dot
+		c = skip(ATEXT);
+	} while (c == '.' && isAtext(peek()));
+	vend = pos();
+	vCFWS();
+	return true;
+}
+
+private boolean
+vDomainLiteral()
+{
+	final int beg = pos();
+	vCFWS();
+	if (cur() != '[') {
+		jmp(beg);
+		return false;
+	}
+	final int content = pos();
+	accept();
+	vFWS();
+	while (isDtext(cur())) {
+		skip(DTEXT);
+		vFWS();
+	}
+	if (cur() != ']') {
+		jmp(beg);
+		return false;
+	}
+	accept();
+	vbeg = content;
+	vend = pos();
+	vCFWS();
+	return true;
+}
+
+private int
+vDomain()
+{
+	if (vDotAtom())
+		return vDomainDotAtom(vbeg, vend);
+	if (!vDomainLiteral())
+		return V_NONE;
+	vlen = vend - vbeg;
+	// unfolded FWS leaves WSP, which IPAddress never accepts
+	if (containsFWS(vbeg, vend))
+		return V_INVALID;
+	int tag = 0;
+	while (tag < IPV6_TAG.length() && vbeg + tag < vend &&
+	    Character.toLowerCase(charAt(vbeg + tag)) == IPV6_TAG.charAt(tag))
+		++tag;
+	final int base = inputOffset();
+	final boolean v = tag == IPV6_TAG.length() ?
+	    IPAddress.isV6(input(), base + vbeg + tag, base + vend - 1) :
+	    IPAddress.isV4(input(), base + vbeg + 1, base + vend - 1);
+	return v ? V_VALID : V_INVALID;
+}
+
+/**
+ * Recogniser counterpart of {@link #pDomainDotAtom(Substring)}, called
+ * after the dot-atom (and surrounding CFWS) was parsed.
+ *
+ * @param beg position of the dot-atom
+ * @param end position after the dot-atom
+ *
+ * @return validity of the domain, V_INVALID or V_VALID
+ */
+protected int
+vDomainDotAtom(final int beg, final int end)
+{
+	// dot-atom form of domain, does not need unfolding
+	vlen = end - beg;
+	final int base = inputOffset();
+	return FQDN.isDomain(input(), base + beg, base + end) ?
+	    V_VALID : V_INVALID;
+}
+
+private int
+vAddrSpec()
+{
+	final int beg = pos();
+	final int lplen;
+	int rv;
+	if (vDotAtom()) {
+		// no FWS within dot-atom
+		lplen = vend - vbeg;
+		rv = lplen <= 64 ? V_VALID : V_INVALID;
+	} else if (vQuotedString()) {
+		lplen = unfoldedLength(vbeg, vend);
+		rv = lplen <= 64 && !containsTab(vbeg, vend) ?
+		    V_VALID : V_INVALID;
+	} else
+		return V_NONE;
+	if (cur() != '@') {
+		jmp(beg);
+		return V_NONE;
+	}
+	accept();
+	final int dv = vDomain();
+	if (dv == V_NONE) {
+		jmp(beg);
+		return V_NONE;
+	}
+	/* local-part + '@' + domain; octets = characters (ASCII) */
+	if (lplen + 1 + vlen > 254)
+		rv = V_INVALID;
+	return Math.min(rv, dv);
+}
+
 }
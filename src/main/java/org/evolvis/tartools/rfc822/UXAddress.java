@@ -20,6 +20,11 @@ package org.evolvis.tartools.rfc822;
  * of said person’s immediate fault when using the work as intended.
  */
 
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.List;
+
 /**
  * <p>Represents an RFC822 (and successors) eMail address header content,
  * like {@code Path}, except the parser accepts more varying input,
@@ -29,7 +34,8 @@ package org.evolvis.tartools.rfc822;
  *
  * <p>Currently implemented user-friendly parse changes are:</p><ul>
  * <li>Allow trailing dot in domains</li>
- * <li>Accept semicolon as mailbox-list separator</li>
+ * <li>Accept semicolon as mailbox-list and address-list separator (the
+ * latter also between groups, in one pass)</li>
  * </ul>
  *
  * <p><strong>Warning:</strong> This class is not yet fully implemented!</p>
@@ -47,20 +53,293 @@ public class UXAddress extends Path {
  * @return null if {@code addresses} was null or very large,
  *     the new parser instance otherwise
  *
- * @see Path#of(String)
+ * @see Path#of(CharSequence)
+ */
+public static UXAddress
+of(final CharSequence addresses)
+{
+	return Parser.of(UXAddress::new, addresses);
+}
+
+/**
+ * Creates and initialises a new (forgiving) parser for eMail addresses
+ * in a range of the input.
+ *
+ * @param addresses to parse
+ * @param beg       offset of the first character of the range to parse
+ * @param end       offset after the last character of the range to parse
+ *
+ * @return null if {@code addresses} was null or very large,
+ *     the new parser instance otherwise
+ *
+ * @see Path#of(CharSequence, int, int)
+ */
+public static UXAddress
+of(final CharSequence addresses, final int beg, final int end)
+{
+	return Parser.of(UXAddress::new, addresses, beg, end);
+}
+
+private static final ThreadLocal<UXAddress> THREAD_PARSER =
+    ThreadLocal.withInitial(() -> new UXAddress(null));
+
+/**
+ * Returns the (forgiving) parser instance confined to the calling thread,
+ * reinitialised for the given input.
+ *
+ * @param addresses to parse
+ *
+ * @return null if {@code addresses} was null or very large,
+ *     the calling thread’s parser instance otherwise
+ *
+ * @see Path#forThread(CharSequence)
+ */
+public static UXAddress
+forThread(final CharSequence addresses)
+{
+	return THREAD_PARSER.get().reset(addresses);
+}
+
+/**
+ * Returns the (forgiving) parser instance confined to the calling thread,
+ * reinitialised for a range of the given input.
+ *
+ * @param addresses to parse
+ * @param beg       offset of the first character of the range to parse
+ * @param end       offset after the last character of the range to parse
+ *
+ * @return null if {@code addresses} was null or very large,
+ *     the calling thread’s parser instance otherwise
+ *
+ * @see Path#forThread(CharSequence, int, int)
  */
 public static UXAddress
-of(final String addresses)
+forThread(final CharSequence addresses, final int beg, final int end)
+{
+	return THREAD_PARSER.get().reset(addresses, beg, end);
+}
+
+private static final ThreadLocal<UXAddress> STATIC_PARSER =
+    ThreadLocal.withInitial(() -> new UXAddress(null));
+
+/**
+ * Checks whether the passed string is a valid {@code addr-spec} (forgiving)
+ * without constructing a parser or any parser results.
+ *
+ * @param address to check
+ *
+ * @return true if {@code address} is a valid {@code addr-spec}, false otherwise
+ *
+ * @see Path#isValidAddrSpec(CharSequence)
+ */
+public static boolean
+isValidAddrSpec(final CharSequence address)
+{
+	return validateAddrSpec(address) == Validity.VALID;
+}
+
+/**
+ * Validates the passed string as {@code addr-spec} (forgiving) without
+ * constructing a parser or any parser results.
+ *
+ * @param address to check
+ *
+ * @return {@link Path.Validity} of {@code address}
+ *
+ * @see Path#validateAddrSpec(CharSequence)
+ */
+public static Validity
+validateAddrSpec(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? Validity.UNPARSEABLE : p.validateAsAddrSpec();
+}
+
+/**
+ * Validates the passed string as {@code mailbox} (forgiving) without
+ * constructing a parser or any parser results.
+ *
+ * @param address to check
+ *
+ * @return {@link Path.Validity} of {@code address}
+ *
+ * @see Path#validateMailbox(CharSequence)
+ */
+public static Validity
+validateMailbox(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? Validity.UNPARSEABLE : p.validateForSender(false);
+}
+
+/**
+ * Validates the passed string as {@code address} (forgiving) without
+ * constructing a parser or any parser results.
+ *
+ * @param address to check
+ *
+ * @return {@link Path.Validity} of {@code address}
+ *
+ * @see Path#validateAddress(CharSequence)
+ */
+public static Validity
+validateAddress(final CharSequence address)
+{
+	val p = STATIC_PARSER.get().reset(address);
+	return p == null ? Validity.UNPARSEABLE : p.validateForSender(true);
+}
+
+/**
+ * Validates the passed string as {@code mailbox-list} (forgiving) without
+ * constructing a parser or any parser results.
+ *
+ * @param addresses to check
+ *
+ * @return {@link Path.Validity} of {@code addresses}
+ *
+ * @see Path#validateMailboxList(CharSequence)
+ */
+public static Validity
+validateMailboxList(final CharSequence addresses)
+{
+	val p = STATIC_PARSER.get().reset(addresses);
+	return p == null ? Validity.UNPARSEABLE : p.validateAsMailboxList();
+}
+
+/**
+ * Validates the passed string as {@code address-list} (forgiving) without
+ * constructing a parser or any parser results.
+ *
+ * @param addresses to check
+ *
+ * @return {@link Path.Validity} of {@code addresses}
+ *
+ * @see Path#validateAddressList(CharSequence)
+ */
+public static Validity
+validateAddressList(final CharSequence addresses)
+{
+	val p = STATIC_PARSER.get().reset(addresses);
+	return p == null ? Validity.UNPARSEABLE : p.validateAsAddressList();
+}
+
+/**
+ * Parses many inputs (forgiving) as the given production in parallel.
+ *
+ * @param inputs to parse, each may be null
+ * @param mode   production to parse each input as
+ *
+ * @return list of parser results (null for inputs that do not parse),
+ *     in the order of {@code inputs}
+ *
+ * @see Path#parseAll(List, Mode)
+ */
+public static List<ParserResult>
+parseAll(@NonNull final List<? extends CharSequence> inputs,
+    @NonNull final Mode mode)
+{
+	return parseAll(STATIC_PARSER, cache, inputs, mode);
+}
+
+/**
+ * Parses several header values (forgiving) as address lists and returns
+ * their distinct addr-specs.
+ *
+ * @param headers values to parse, each may be null (absent)
+ *
+ * @return null if a header value does not parse, the distinct addr-specs
+ *     in order of first occurrence otherwise
+ *
+ * @see Path#recipients(CharSequence...)
+ */
+public static List<AddrSpec>
+recipients(@NonNull final CharSequence... headers)
+{
+	return recipients(STATIC_PARSER, cache, headers);
+}
+
+private static volatile ClockCache<CacheKey, ParserResult> cache = null;
+
+/**
+ * Sets (or, with null, removes) a result cache for the static parsing
+ * methods of this (forgiving) parser; do not share it with {@link Path}.
+ *
+ * @param newCache cache to use from now on, or null to not cache
+ *
+ * @see Path#setCache(ClockCache)
+ */
+public static void
+setCache(final ClockCache<CacheKey, ParserResult> newCache)
+{
+	cache = newCache;
+}
+
+/**
+ * Returns the cache set by {@link #setCache(ClockCache)}.
+ *
+ * @return cache currently in use, or null if none
+ */
+public static ClockCache<CacheKey, ParserResult>
+getCache()
 {
-	return Parser.of(UXAddress.class, addresses);
+	return cache;
 }
 
 /**
- * Private constructor. Use the factory method {@link #of(String)} instead.
+ * Parses an input (forgiving) as the given production, using the
+ * cache from {@link #setCache(ClockCache)} if set.
+ *
+ * @param input to parse
+ * @param mode  production to parse the input as
+ *
+ * @return null if the input was null, very large or does not parse,
+ *     the parser result otherwise; remember to call isValid()!
+ *
+ * @see Path#parse(CharSequence, Mode)
+ */
+public static ParserResult
+parse(final CharSequence input, @NonNull final Mode mode)
+{
+	return parse(STATIC_PARSER, cache, input, mode);
+}
+
+/**
+ * Validates many inputs (forgiving) as the given production in parallel.
+ *
+ * @param inputs to validate, each may be null
+ * @param mode   production to validate each input as
+ *
+ * @return list of {@link Path.Validity}, in the order of {@code inputs}
+ *
+ * @see Path#validateAll(List, Mode)
+ */
+public static List<Validity>
+validateAll(@NonNull final List<? extends CharSequence> inputs,
+    @NonNull final Mode mode)
+{
+	return validateAll(STATIC_PARSER, inputs, mode);
+}
+
+@Override
+public UXAddress
+reset(final CharSequence addresses)
+{
+	return init(addresses) ? this : null;
+}
+
+@Override
+public UXAddress
+reset(final CharSequence addresses, final int beg, final int end)
+{
+	return init(addresses, beg, end) ? this : null;
+}
+
+/**
+ * Private constructor. Use the factory method {@link #of(CharSequence)} instead.
  *
  * @param input string to analyse
  */
-protected UXAddress(final String input)
+protected UXAddress(final CharSequence input)
 {
 	super(input);
 }
@@ -74,6 +353,15 @@ pDomainDotAtom(final Substring da)
 	return super.pDomainDotAtom(da);
 }
 
+@Override
+protected int
+vDomainDotAtom(final int beg, final int end)
+{
+	if (cur() == '.')
+		accept();
+	return super.vDomainDotAtom(beg, end);
+}
+
 @Override
 protected boolean
 isMailboxListSeparator()
@@ -82,13 +370,10 @@ isMailboxListSeparator()
 }
 
 @Override
-public AddressList asAddressList()
+protected boolean
+isAddressListSeparator()
 {
-	final AddressList p = super.asAddressList();
-	if (p != null)
-		return p;
-	/* reparse as mailbox-list since we accept more separators there */
-	return asMailboxList();
+	return cur() == ',' || cur() == ';';
 }
 
 }
@@ -0,0 +1,152 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test {@link AsyncPath} class
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+class AsyncPathTest {
+
+@Test
+public void
+testPos() throws Exception
+{
+	final ExecutorService es = Executors.newFixedThreadPool(4);
+	try {
+		val ap = new AsyncPath(es, 8, false);
+		val in = new ArrayList<String>();
+		for (int i = 0; i < 500; ++i)
+			in.add(i % 5 == 4 ? "x@" : "Foo " + i + " <foo." + i + "@example.com>");
+		final List<Path.ParserResult> res = ap.parseAll(in, Path.Mode.MAILBOX).get();
+		assertEquals(in.size(), res.size());
+		for (int i = 0; i < in.size(); ++i)
+			if (i % 5 == 4)
+				assertNull(res.get(i), "unexpectedly parses: " + in.get(i));
+			else
+				assertEquals(in.get(i), res.get(i).toString(), "order mismatch");
+		assertEquals(Path.Validity.VALID,
+		    ap.validate("a@example.com", Path.Mode.ADDR_SPEC).get());
+		assertEquals(Path.Validity.UNPARSEABLE,
+		    ap.validate(null, Path.Mode.ADDR_SPEC).get());
+		assertTrue(ap.parse("a@example.com", Path.Mode.MAILBOX_LIST).get().isValid());
+		val lax = new AsyncPath(es, 1, true);
+		assertEquals(Path.Validity.VALID,
+		    lax.validate("a@example.com;b@example.com", Path.Mode.ADDRESS_LIST).get());
+		assertEquals("hal@ai", lax.parse("hal@ai.", Path.Mode.ADDR_SPEC).get().toString());
+		assertEquals(8, ap.available(), "permits leaked");
+	} finally {
+		es.shutdown();
+	}
+}
+
+@Test
+public void
+testBackpressure() throws Exception
+{
+	final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+	val ap = new AsyncPath(queue::add, 2, false);
+	val f1 = ap.validate("a@example.com", Path.Mode.ADDR_SPEC);
+	val f2 = ap.parse("b@example.com", Path.Mode.ADDR_SPEC);
+	assertEquals(0, ap.available());
+	final CountDownLatch submitted = new CountDownLatch(1);
+	final CompletableFuture<CompletableFuture<Path.Validity>> f3 = new CompletableFuture<>();
+	final Thread t = new Thread(() -> {
+		try {
+			f3.complete(ap.validate("c@", Path.Mode.ADDR_SPEC));
+		} catch (InterruptedException e) {
+			f3.completeExceptionally(e);
+		}
+		submitted.countDown();
+	});
+	t.start();
+	assertFalse(submitted.await(100, TimeUnit.MILLISECONDS), "not blocked");
+	queue.poll().run();
+	assertTrue(submitted.await(10, TimeUnit.SECONDS), "not unblocked");
+	assertEquals(Path.Validity.VALID, f1.get());
+	assertFalse(f2.isDone());
+	Runnable r;
+	while ((r = queue.poll()) != null)
+		r.run();
+	assertEquals("b@example.com", f2.get().toString());
+	assertEquals(Path.Validity.UNPARSEABLE, f3.get().get());
+	assertEquals(2, ap.available());
+	t.join();
+}
+
+@Test
+public void
+testCallerRuns() throws Exception
+{
+	// tasks run on the submitting thread must not reset its parsers
+	for (final boolean lax : new boolean[] { false, true }) {
+		val p = lax ? UXAddress.forThread("Foo <a@example.com>") :
+		    Path.forThread("Foo <a@example.com>");
+		assertNotNull(p);
+		val ap = new AsyncPath(Runnable::run, 1, lax);
+		for (final Path.Mode mode : Path.Mode.values()) {
+			assertNotNull(ap.parse("b@example.org", mode).get());
+			assertEquals(Path.Validity.VALID,
+			    ap.validate("b@example.org", mode).get());
+		}
+		assertEquals("Foo <a@example.com>", p.forSender(false).toString());
+	}
+}
+
+@Test
+public void
+testNeg() throws Exception
+{
+	final ExecutorService es = Executors.newSingleThreadExecutor();
+	es.shutdown();
+	val ap = new AsyncPath(es, 1, false);
+	assertThrows(RejectedExecutionException.class, () ->
+	    ap.parse("a@example.com", Path.Mode.ADDR_SPEC));
+	assertEquals(1, ap.available(), "permit leaked on rejection");
+	assertThrows(IllegalArgumentException.class, () -> new AsyncPath(es, 0, false));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> new AsyncPath(null, 1, false));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> ap.parse("x", null));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> ap.parseAll(null, Path.Mode.ADDRESS));
+	assertTrue(new AsyncPath(Runnable::run, 1, false).parseAll(Arrays.asList(),
+	    Path.Mode.ADDRESS).get().isEmpty());
+}
+
+}
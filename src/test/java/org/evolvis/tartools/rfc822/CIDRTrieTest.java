@@ -0,0 +1,167 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test {@link CIDRTrie} class
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+class CIDRTrieTest {
+
+private static final String[] PRIVATE = {
+	"0.0.0.0/8", "10.0.0.0/8", "100.64.0.0/10", "127.0.0.0/8",
+	"169.254.0.0/16", "172.16.0.0/12", "192.0.2.0/24", "192.168.0.0/16",
+	"::/128", "::1/128", "fc00::/7", "fe80::/10", "2001:db8::/32",
+};
+
+@Test
+public void
+testPos()
+{
+	final CIDRTrie<String> t = new CIDRTrie<>();
+	assertNull(t.match(IPAddress.value("192.0.2.1")));
+	for (final String s : PRIVATE)
+		assertTrue(t.add(s, s), s);
+	assertEquals(PRIVATE.length, t.size());
+	assertEquals("192.0.2.0/24", t.match(IPAddress.value("192.0.2.1")));
+	assertEquals("192.0.2.0/24", t.match(IPAddress.value("::ffff:192.0.2.255")));
+	assertEquals("10.0.0.0/8", t.match("[10.1.2.3]", 1, 9));
+	assertEquals("172.16.0.0/12", t.match("172.31.255.255", 0, 14));
+	assertNull(t.match("172.32.0.0", 0, 10));
+	assertNull(t.match(IPAddress.value("198.51.100.1")));
+	assertEquals("::1/128", t.match(IPAddress.value("::1")));
+	assertEquals("::/128", t.match(IPAddress.value("::")));
+	assertNull(t.match(IPAddress.value("::2")));
+	assertEquals("fe80::/10", t.match(IPAddress.value("febf:ffff::1")));
+	assertNull(t.match(IPAddress.value("fec0::1")));
+	assertEquals("2001:db8::/32", t.match("2001:db8:ffff::1", 0, 16));
+	assertNull(t.match("not an address", 0, 14));
+	// more specific prefixes win, host bits are ignored
+	assertTrue(t.add("192.0.2.128/25", "upper"));
+	assertTrue(t.add("192.0.2.7", "host"));
+	assertTrue(t.add("2001:db8:1::1/48", "site"));
+	assertEquals("upper", t.match(IPAddress.value("192.0.2.200")));
+	assertEquals("192.0.2.0/24", t.match(IPAddress.value("192.0.2.6")));
+	assertEquals("host", t.match(IPAddress.value("192.0.2.7")));
+	assertEquals("192.0.2.0/24", t.match(IPAddress.value("192.0.2.8")));
+	assertEquals("site", t.match(IPAddress.value("2001:db8:1:ffff::")));
+	assertEquals("2001:db8::/32", t.match(IPAddress.value("2001:db8:2::")));
+	// replacing
+	assertEquals("upper", t.put(IPAddress.value("192.0.2.255"), 25, "UPPER"));
+	assertEquals("UPPER", t.match(IPAddress.value("192.0.2.200")));
+	assertEquals(PRIVATE.length + 3, t.size());
+	// default route
+	assertNull(t.put(IPAddress.value("::"), 0, "default"));
+	assertEquals("default", t.match(IPAddress.value("2a00::1")));
+	assertEquals("10.0.0.0/8", t.match(IPAddress.value("10.0.0.1")));
+}
+
+@Test
+public void
+testInetAddress() throws Exception
+{
+	final CIDRTrie<Integer> t = new CIDRTrie<>();
+	assertTrue(t.add("192.0.2.0/24", 4));
+	assertTrue(t.add("2001:db8::/32", 6));
+	assertEquals(4, t.match(InetAddress.getByName("192.0.2.99")));
+	assertEquals(6, t.match(InetAddress.getByName("2001:db8::99")));
+	assertNull(t.match(InetAddress.getByName("198.51.100.1")));
+	val p = Path.of("foo@[192.0.2.1]");
+	assertNotNull(p);
+	val as = p.asAddrSpec();
+	assertNotNull(as);
+	assertEquals(4, t.match((InetAddress)as.getDomain().getData()));
+}
+
+@Test
+public void
+testRandom()
+{
+	// compare against a linear scan
+	final Random r = new Random(822);
+	final CIDRTrie<Integer> t = new CIDRTrie<>();
+	final List<long[]> prefixes = new ArrayList<>();
+	for (int i = 0; i < 3000; ++i) {
+		// few distinct upper bits, to get deep shared paths
+		final long hi = ((long)r.nextInt(4) << 62) |
+		    (r.nextBoolean() ? 0L : r.nextLong() >>> 2);
+		final long lo = r.nextLong();
+		final int len = r.nextInt(129);
+		t.put(IPAddress.Value.ofV6(hi, lo), len, i);
+		prefixes.add(new long[] { hi, lo, len, i });
+	}
+	for (int i = 0; i < 20000; ++i) {
+		final long[] near = prefixes.get(r.nextInt(prefixes.size()));
+		final int keep = r.nextInt(129);
+		final long hi = keep >= 64 ? near[0] : (near[0] & (keep == 0 ? 0L : -1L << (64 - keep))) | (r.nextLong() & (keep == 0 ? -1L : -1L >>> keep));
+		final long lo = keep >= 128 ? near[1] : keep <= 64 ? r.nextLong() : (near[1] & (-1L << (128 - keep))) | (r.nextLong() & (-1L >>> (keep - 64)));
+		Integer exp = null;
+		int explen = -1;
+		for (final long[] p : prefixes) {
+			final int len = (int)p[2];
+			final boolean in = len <= 64 ?
+			    len == 0 || ((hi ^ p[0]) >>> (64 - len)) == 0 :
+			    hi == p[0] && (len == 64 || ((lo ^ p[1]) >>> (128 - len)) == 0);
+			// later puts of the same prefix replace earlier ones
+			if (in && len >= explen) {
+				exp = (int)p[3];
+				explen = len;
+			}
+		}
+		assertEquals(exp, t.match(hi, lo), "mismatch");
+	}
+}
+
+@Test
+public void
+testNeg()
+{
+	final CIDRTrie<String> t = new CIDRTrie<>();
+	for (final String s : new String[] { "", "/", "192.0.2.0/", "192.0.2.0/33",
+	    "192.0.2.0/024", "192.0.2.0/2a", "2001:db8::/129", "2001:db8::/1280",
+	    "192.0.2.0/24/", "example.com/8", "192.0.2.0 /24" })
+		assertFalse(t.add(s, s), s);
+	assertTrue(t.add("192.0.2.0/0", "all v4"));
+	assertEquals("all v4", t.match(IPAddress.value("198.51.100.1")));
+	assertNull(t.match(IPAddress.value("2001:db8::1")));
+	assertEquals(1, t.size());
+	assertThrows(IllegalArgumentException.class, () -> t.put(IPAddress.value("192.0.2.1"), 33, "x"));
+	assertThrows(IllegalArgumentException.class, () -> t.put(IPAddress.value("::1"), -1, "x"));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> t.put(null, 0, "x"));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> t.add("::1", null));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> t.match((IPAddress.Value)null));
+}
+
+}
@@ -0,0 +1,172 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2021 mirabilos (m@mirbsd.org)
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test {@link CLI} coprocess mode
+ *
+ * @author mirabilos (m@mirbsd.org)
+ */
+class CLITest {
+
+/**
+ * Writer recording what was flushed so far
+ */
+private static final class FlushWriter extends Writer {
+
+	private final StringBuilder pending = new StringBuilder();
+	final List<String> flushed = new ArrayList<>();
+
+	@Override
+	public void
+	write(final char[] cbuf, final int off, final int len)
+	{
+		pending.append(cbuf, off, len);
+	}
+
+	@Override
+	public void
+	flush()
+	{
+		if (pending.length() > 0) {
+			flushed.add(pending.toString());
+			pending.setLength(0);
+		}
+	}
+
+	@Override
+	public void
+	close()
+	{
+		flush();
+	}
+
+}
+
+/**
+ * Reader returning one chunk per read call, like a pipe
+ */
+private static class ChunkReader extends Reader {
+
+	private final String[] chunks;
+	int reads = 0;
+
+	ChunkReader(final String... chunks)
+	{
+		this.chunks = chunks;
+	}
+
+	/**
+	 * Called before each chunk is returned.
+	 *
+	 * @param n index of the chunk about to be returned
+	 */
+	void
+	before(final int n)
+	{
+	}
+
+	@Override
+	public int
+	read(final char[] cbuf, final int off, final int len)
+	{
+		if (reads == chunks.length)
+			return -1;
+		before(reads);
+		final String s = chunks[reads++];
+		assertTrue(s.length() <= len);
+		s.getChars(0, s.length(), cbuf, off);
+		return s.length();
+	}
+
+	@Override
+	public void
+	close()
+	{
+	}
+
+}
+
+@Test
+public void
+testServe() throws IOException
+{
+	final StringWriter w = new StringWriter();
+	CLI.serve(new StringReader("addrspec a@example.com\n" +
+	    "bogus x\n" +
+	    "-domain EXAMPLE.com\r\n" +
+	    "ipv4 1.2.3\n" +
+	    "ipv6 ::1\n" +
+	    "addrspec <a@example.com>\n" +
+	    "\n" +
+	    "mailbox x <a@example.com>"), w);
+	assertEquals("0 a@example.com\n" +
+	    "1\n" +
+	    "0 example.com\n" +
+	    "43\n" +
+	    "0 0:0:0:0:0:0:0:1\n" +
+	    "41\n" +
+	    "1\n" +
+	    "0 x <a@example.com>\n", w.toString());
+}
+
+@Test
+public void
+testServeFlush() throws IOException
+{
+	final FlushWriter w = new FlushWriter();
+	// pipelined requests are answered together
+	CLI.serve(new ChunkReader("ipv4 192.0.2.1\nipv4 x\nipv6 ::\n"), w);
+	assertEquals(1, w.flushed.size());
+	assertEquals("0 192.0.2.1\n43\n0 0:0:0:0:0:0:0:0\n", w.flushed.get(0));
+
+	// a partial request must not hold back earlier answers
+	final FlushWriter w2 = new FlushWriter();
+	final ChunkReader r = new ChunkReader("ipv4 192.0.2.1\nipv4 192.0",
+	    ".2.2\nbogus\n") {
+		@Override
+		void
+		before(final int n)
+		{
+			// the previous chunk ended in a partial request
+			if (n == 1)
+				assertEquals(1, w2.flushed.size());
+		}
+	};
+	CLI.serve(r, w2);
+	assertEquals(2, r.reads);
+	assertEquals(2, w2.flushed.size());
+	assertEquals("0 192.0.2.1\n", w2.flushed.get(0));
+	assertEquals("0 192.0.2.2\n1\n", w2.flushed.get(1));
+}
+
+}
@@ -0,0 +1,128 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test {@link CharClass} class
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+class CharClassTest {
+
+private static void
+tc(final CharClass cc, final byte what)
+{
+	for (int c = -1; c < 0x100; ++c)
+		assertEquals(Path.is(c, what), cc.matches(c),
+		    String.format("mismatch for U+%04X", c));
+	assertFalse(cc.matches(0x1F431), "non-ASCII matches");
+}
+
+@Test
+public void
+testPath()
+{
+	tc(Path.ATEXT, Path.IS_ATEXT);
+	tc(Path.QTEXT, Path.IS_QTEXT);
+	tc(Path.CTEXT, Path.IS_CTEXT);
+	tc(Path.DTEXT, Path.IS_DTEXT);
+	tc(Path.ALNUM, Path.IS_ALNUM);
+	tc(Path.ALNUS, Path.IS_ALNUS);
+	tc(Path.XDIGIT, Path.IS_XDIGIT);
+	for (int c = -1; c < 0x100; ++c)
+		assertEquals(Path.isWSP(c), Path.WSP.matches(c));
+}
+
+@Test
+public void
+testPos()
+{
+	final CharClass d = CharClass.range('0', '9');
+	assertTrue(d.matches('0'));
+	assertTrue(d.toSkip('9'));
+	assertFalse(d.matches('/'));
+	assertFalse(d.matches(-1), "end of input matches");
+	final CharClass x = d.union(CharClass.of("abcdefABCDEF"));
+	assertEquals(Path.XDIGIT, x);
+	assertEquals(Path.XDIGIT.hashCode(), x.hashCode());
+	assertNotEquals(d, x);
+	assertFalse(x.matchesNonASCII());
+	final CharClass n = x.withNonASCII(true);
+	assertTrue(n.matchesNonASCII());
+	assertTrue(n.matches(0xE4));
+	assertTrue(n.matches(0x1F431));
+	assertFalse(n.matches('g'));
+	assertNotEquals(x, n);
+	assertSame(n, n.withNonASCII(true));
+	assertTrue(d.union(n).matchesNonASCII());
+	assertTrue(CharClass.of("\u007F\u0000?@").matches(0x7F));
+	assertTrue(CharClass.of("\u007F\u0000?@").matches(0));
+	assertTrue(CharClass.of("\u007F\u0000?@").matches('?'));
+	assertTrue(CharClass.of("\u007F\u0000?@").matches('@'));
+	assertFalse(CharClass.NONE.matches('@'));
+}
+
+@Test
+public void
+testSkip()
+{
+	final TestParser tp = TestParser.of("ab\u00E4\uD83D\uDC31c d");
+	assertNotNull(tp);
+	final CharClass l = CharClass.range('a', 'z');
+	assertEquals(0xE4, tp.skip(l));
+	assertEquals(2, tp.pos());
+	assertEquals(0xE4, tp.skip(Path.WSP), "moved on no match");
+	assertEquals(' ', tp.skip(l.withNonASCII(true)));
+	assertEquals(6, tp.pos());
+	tp.jmp(3);
+	assertEquals(0x1F431, tp.cur());
+	assertEquals(' ', tp.skip(l.withNonASCII(true)), "surrogate pair split");
+	assertEquals('d', tp.jmp(7));
+	assertEquals(-1, tp.skip(l));
+	assertEquals(8, tp.pos());
+	assertTrue(tp.init("ab\u00E4c d"));
+	assertEquals(' ', tp.skip(l.withNonASCII(true)));
+	assertEquals(4, tp.pos());
+	assertTrue(tp.init("\uD83D\uDC31"));
+	assertEquals(0x1F431, tp.skip(l), "surrogate matches");
+}
+
+@Test
+public void
+testNeg()
+{
+	assertThrows(IllegalArgumentException.class, () -> CharClass.of("ä"));
+	assertThrows(IllegalArgumentException.class, () -> CharClass.range('b', 'a'));
+	assertThrows(IllegalArgumentException.class, () -> CharClass.range('a', 'ä'));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> CharClass.of((String)null));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> Path.WSP.union(null));
+	assertNotEquals(Path.WSP, null);
+	assertNotEquals(Path.WSP, " \t");
+	assertEquals(Path.WSP, Path.WSP);
+}
+
+}
@@ -0,0 +1,107 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test {@link ClockCache} class
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+class ClockCacheTest {
+
+@Test
+public void
+testPos()
+{
+	final ClockCache<String, Integer> c = new ClockCache<>(3);
+	assertEquals(3, c.capacity());
+	assertNull(c.get("a"));
+	c.put("a", 1);
+	c.put("b", 2);
+	c.put("a", 9);
+	assertEquals(1, c.get("a"), "value replaced");
+	assertEquals(2, c.get("b"));
+	assertEquals(2, c.size());
+	assertEquals(2, c.hits());
+	assertEquals(1, c.misses());
+	final AtomicInteger calls = new AtomicInteger();
+	assertEquals(3, c.get("c", (k) -> calls.incrementAndGet() + 2));
+	assertEquals(3, c.get("c", (k) -> calls.incrementAndGet() + 2));
+	assertEquals(1, calls.get(), "computed twice");
+	assertEquals(3, c.size());
+	assertEquals(0, c.evictions());
+	c.clear();
+	assertEquals(0, c.size());
+	assertNull(c.get("a"));
+	assertEquals("ClockCache(0/3, 3 hits, 3 misses, 0 evictions)", c.toString());
+}
+
+@Test
+public void
+testEviction()
+{
+	final ClockCache<String, Integer> c = new ClockCache<>(3);
+	c.put("a", 1);
+	c.put("b", 2);
+	c.put("c", 3);
+	// all unreferenced: evicts in insertion order
+	c.put("d", 4);
+	assertEquals(1, c.evictions());
+	assertEquals(3, c.size());
+	assertNull(c.get("a"), "oldest not evicted");
+	// referenced entries get a second chance
+	assertNotNull(c.get("b"));
+	c.put("e", 5);
+	assertNotNull(c.get("b"), "referenced entry evicted");
+	assertNull(c.get("c"), "unreferenced entry not evicted");
+	assertNotNull(c.get("d"));
+	assertNotNull(c.get("e"));
+	// all referenced: one full sweep, then evicts at the hand
+	c.put("f", 6);
+	assertEquals(3, c.evictions());
+	assertEquals(3, c.size());
+	assertNotNull(c.get("f"));
+}
+
+@Test
+public void
+testNeg()
+{
+	assertThrows(IllegalArgumentException.class, () -> new ClockCache<String, String>(0));
+	final ClockCache<String, String> c = new ClockCache<>(1);
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> c.get(null));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> c.get("a", null));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> c.put(null, "a"));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> c.put("a", null));
+	assertEquals(0, c.size());
+}
+
+}
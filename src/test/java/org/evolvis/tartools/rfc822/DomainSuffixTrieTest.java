@@ -0,0 +1,135 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test {@link DomainSuffixTrie} class
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+class DomainSuffixTrieTest {
+
+@Test
+public void
+testPos()
+{
+	final DomainSuffixTrie<String> t = new DomainSuffixTrie<>();
+	assertNull(t.match("example.com"));
+	assertTrue(t.add("example.com", "exact"));
+	assertTrue(t.add("*.example.com", "sub"));
+	assertTrue(t.add("*.Mail.Example.COM", "mail"));
+	assertTrue(t.add("ample.com", "other"));
+	assertTrue(t.add("*.org", "org"));
+	assertEquals(5, t.size());
+	assertEquals("exact", t.match("example.com"));
+	assertEquals("exact", t.match("EXAMPLE.Com"));
+	assertEquals("sub", t.match("www.example.com"));
+	assertEquals("sub", t.match("a.b.example.com"));
+	assertEquals("mail", t.match("mx1.mail.example.com"));
+	assertEquals("sub", t.match("mail.example.com"), "wildcard matches its own domain");
+	assertEquals("other", t.match("ample.com"));
+	assertNull(t.match("xample.com"));
+	assertNull(t.match("badexample.com"), "suffix matched within label");
+	assertNull(t.match("com"));
+	assertNull(t.match(".example.com"));
+	assertNull(t.match(""));
+	assertNull(t.match((String)null));
+	assertEquals("org", t.match("example.org"));
+	assertNull(t.match("org"));
+	assertEquals("sub", t.match("ü.example.com"), "no validation expected");
+	// ranges and addr-spec domains
+	assertEquals("sub", t.match("<foo@www.example.com>", 5, 20));
+	assertEquals("exact", t.match("<foo@www.example.com>", 9, 20));
+	val as = Path.of("foo@Www.Example.Com").asAddrSpec();
+	assertNotNull(as);
+	assertEquals("sub", t.match(as));
+	val lit = Path.of("foo@[192.0.2.1]").asAddrSpec();
+	assertNotNull(lit);
+	assertNull(t.match(lit));
+	// replacing, catch-all
+	assertTrue(t.add("EXAMPLE.COM", "EXACT"));
+	assertEquals("EXACT", t.match("example.com"));
+	assertEquals(5, t.size());
+	assertNull(t.match("example.net"));
+	assertTrue(t.add("*", "all"));
+	assertEquals("all", t.match("example.net"));
+	assertEquals("sub", t.match("www.example.com"));
+	assertEquals(6, t.size());
+}
+
+@Test
+public void
+testMany()
+{
+	// grow the tables and compare with hash map lookups
+	final Random r = new Random(822);
+	final DomainSuffixTrie<Integer> t = new DomainSuffixTrie<>();
+	final HashMap<String, Integer> exact = new HashMap<>();
+	// by suffix including the leading dot
+	final HashMap<String, Integer> wild = new HashMap<>();
+	for (int i = 0; i < 20000; ++i) {
+		final boolean w = r.nextBoolean();
+		final String p = "d" + r.nextInt(5000) + "." +
+		    (char)('a' + r.nextInt(3)) + "x";
+		assertTrue(t.add(w ? "*." + p : p, i));
+		(w ? wild : exact).put(w ? "." + p : p, i);
+	}
+	for (int i = 0; i < 20000; ++i) {
+		final String d = (r.nextBoolean() ? "w" + r.nextInt(3) + "." : "") +
+		    "d" + r.nextInt(5000) + "." + (char)('a' + r.nextInt(3)) + "x";
+		// exact match, else longest wildcard suffix
+		Integer exp = exact.get(d);
+		for (int k = d.indexOf('.'); exp == null && k != -1;
+		    k = d.indexOf('.', k + 1))
+			exp = wild.get(d.substring(k));
+		assertEquals(exp, t.match(d), d);
+	}
+}
+
+@Test
+public void
+testNeg()
+{
+	final DomainSuffixTrie<String> t = new DomainSuffixTrie<>();
+	for (final String s : new String[] { "", "*.", "**", "*example.com",
+	    "foo.*.com", ".example.com", "example.com.", "-a.example.com",
+	    "exa mple.com", "*.*.example.com", "ex_ample.com" })
+		assertFalse(t.add(s, s), s);
+	assertEquals(0, t.size());
+	assertThrows(IndexOutOfBoundsException.class, () -> t.match("abc", 2, 4));
+	assertThrows(IndexOutOfBoundsException.class, () -> t.match("abc", 2, 1));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> t.add(null, "x"));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> t.add("example.com", null));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> t.match((Path.AddrSpec)null));
+}
+
+}
@@ -23,6 +23,8 @@ package org.evolvis.tartools.rfc822;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
+import java.nio.CharBuffer;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -91,4 +93,78 @@ public void testPos()
 	inv("example.com..");
 }
 
+@Test
+public void testReuse()
+{
+	assertNull(FQDN.forThread(null));
+	final FQDN tp = FQDN.forThread("host.domain.tld");
+	assertNotNull(tp, "cannot instantiate for valid example");
+	assertTrue(tp.isDomain(), "basic valid example doesn’t validate");
+	// static methods must not reinitialise the forThread instance
+	inv("-a.example.com");
+	val("example.com");
+	assertTrue(tp.isDomain(), "reinitialised by static method");
+	assertSame(tp, FQDN.forThread("-a.example.com"), "not reused");
+	assertFalse(tp.isDomain(), "invalid example validates");
+	assertNull(tp.reset("123456789012345678901234567890123456789012345678901234567890123.123456789012345678901234567890123456789012345678901234567890123.123456789012345678901234567890123456789012345678901234567890123.12345678901234567890123456789012345678901234567890123456789012"));
+	assertSame(tp, tp.reset("eu"));
+	assertTrue(tp.isDomain(), "cannot validate after reset");
+}
+
+@Test
+public void testCharSequence()
+{
+	final StringBuilder sb = new StringBuilder("Host: mx.example.com.\r\n");
+	assertFalse(FQDN.isDomain(sb), "whole buffer validates");
+	assertTrue(FQDN.isDomain(sb, 6, 20), "range doesn’t validate");
+	assertFalse(FQDN.isDomain(sb, 6, 21), "trailing dot accepted");
+	assertFalse(FQDN.isDomain(sb, 5, 20), "leading space accepted");
+	assertEquals("mx.example.com", FQDN.asDomain(sb.subSequence(6, 21)));
+	assertEquals("mx.example.com", FQDN.asDomain(CharBuffer.wrap(sb, 6, 20)));
+	final String s = "mx.example.com";
+	assertSame(s, FQDN.asDomain(s), "String copied");
+	final FQDN p = FQDN.of(sb, 9, 20);
+	assertNotNull(p);
+	assertTrue(p.isDomain(), "of range doesn’t validate");
+	assertThrows(IndexOutOfBoundsException.class, () -> FQDN.isDomain(sb, 6, 99));
+}
+
+@Test
+public void testCache()
+{
+	final ClockCache<String, Boolean> c = new ClockCache<>(16);
+	FQDN.setCache(c);
+	try {
+		assertSame(c, FQDN.getCache());
+		assertTrue(FQDN.isDomain("mx.example.com"));
+		assertTrue(FQDN.isDomain("MX.Example.COM"), "case not folded");
+		assertFalse(FQDN.isDomain("-a.example.com"));
+		assertFalse(FQDN.isDomain("-a.example.com"));
+		assertEquals(2, c.hits());
+		assertEquals(2, c.misses());
+		assertEquals(2, c.size());
+		final StringBuilder sb = new StringBuilder("Host: mx.example.com.\r\n");
+		assertTrue(FQDN.isDomain(sb, 6, 20), "range doesn’t validate");
+		assertFalse(FQDN.isDomain(sb, 6, 21), "trailing dot accepted");
+		assertThrows(IndexOutOfBoundsException.class, () -> FQDN.isDomain(sb, 6, 99));
+		assertFalse(FQDN.isDomain(null));
+		// eMail address domains go through the cache as well
+		val p = Path.of("foo@mx.example.com");
+		assertNotNull(p);
+		assertTrue(p.asAddrSpec().isValid());
+		assertTrue(Path.isValidAddrSpec("bar@mx.example.com"));
+		assertEquals(5, c.hits());
+		// same answer as without cache, case folding is ASCII-only
+		assertFalse(FQDN.isDomain("\u212Aexample.com"), "KELVIN SIGN folded");
+		assertFalse(FQDN.isDomain("\u212Aexample.com"), "KELVIN SIGN folded");
+		assertFalse(Path.isValidAddrSpec("foo@\u212Aexample.com"));
+		testPos();
+	} finally {
+		FQDN.setCache(null);
+	}
+	assertNull(FQDN.getCache());
+	assertFalse(FQDN.isDomain("\u212Aexample.com"));
+	assertFalse(Path.isValidAddrSpec("foo@\u212Aexample.com"));
+}
+
 }
@@ -25,6 +25,7 @@ import lombok.val;
 import org.junit.jupiter.api.Test;
 
 import java.net.InetAddress;
+import java.nio.CharBuffer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,11 +43,13 @@ inv4(final String ip, final boolean canConstruct)
 	if (!canConstruct) {
 		assertNull(p, () -> "could construct illegal " + ip);
 		assertNull(IPAddress.from(ip));
+		assertNull(IPAddress.value(ip));
 		return;
 	}
 	assertNotNull(p, () -> "couldn’t construct: " + ip);
 	assertNull(p.asIPv4Address(), () -> "not invalid: " + ip);
 	assertNull(IPAddress.from(ip));
+	assertNull(IPAddress.value(ip));
 }
 
 private static void
@@ -56,6 +59,7 @@ inv6(final String ip)
 	assertNotNull(p, () -> "couldn’t construct: " + ip);
 	assertNull(p.asIPv6Address(), () -> "not invalid: " + ip);
 	assertNull(IPAddress.from(ip));
+	assertNull(IPAddress.value(ip));
 }
 
 @SuppressWarnings("SameParameterValue")
@@ -68,6 +72,10 @@ inv6only(final String ip)
 	val a = IPAddress.from(ip);
 	assertNotNull(a);
 	assertEquals(p.asIPv4Address(), a);
+	val v = IPAddress.value(ip);
+	assertNotNull(v);
+	assertTrue(v.isV4());
+	assertEquals(a, v.toInetAddress());
 }
 
 @SneakyThrows
@@ -81,6 +89,11 @@ val6(final String ip)
 	final InetAddress b = InetAddress.getByName("[" + ip + "]");
 	assertEquals(b, a, () -> "repr failure: " + ip);
 	assertEquals(a, IPAddress.from(ip));
+	val v = IPAddress.value(ip);
+	assertNotNull(v, () -> "no value: " + ip);
+	assertFalse(v.isV4(), () -> "value not IPv6: " + ip);
+	assertEquals(a, v.toInetAddress(), () -> "value mismatch: " + ip);
+	assertEquals(v, IPAddress.value(v.toString()), () -> "canonical form does not parse: " + ip);
 }
 
 @Test
@@ -234,4 +247,98 @@ public void testPosIPv4()
 	val4("255.255.255.255");
 }
 
+@Test
+public void testReuse()
+{
+	assertNull(IPAddress.forThread(null));
+	final IPAddress p = IPAddress.forThread("2001:db8::1");
+	assertNotNull(p);
+	val a = p.asIPv6Address();
+	assertNotNull(a);
+	// static methods must not reinitialise the forThread instance
+	assertNotNull(IPAddress.from("192.0.2.1"));
+	assertEquals(a, p.asIPv6Address(), "reinitialised by static method");
+	assertSame(p, IPAddress.forThread("192.0.2.1"), "not reused");
+	assertNull(p.asIPv6Address());
+	val b = p.asIPv4Address();
+	assertNotNull(b);
+	assertEquals("192.0.2.1", b.getHostAddress());
+	assertEquals("2001:db8::1", a.getHostName(), "result changed by reuse");
+	assertNull(p.reset(String.format("%65s", "")));
+	assertSame(p, p.reset("::1"));
+	assertNotNull(p.asIPv6Address());
+}
+
+@Test
+public void testCharSequence()
+{
+	final StringBuilder sb = new StringBuilder("[2001:db8::1]");
+	assertNull(IPAddress.v6(sb), "brackets accepted");
+	final IPAddress p = IPAddress.of(sb, 1, sb.length() - 1);
+	assertNotNull(p);
+	val a = p.asIPv6Address();
+	assertNotNull(a, "range doesn’t parse");
+	assertEquals("2001:db8::1", a.getHostName());
+	assertNotNull(IPAddress.v4(CharBuffer.wrap("192.0.2.1")));
+	assertNotNull(IPAddress.from(new StringBuilder("::ffff:192.0.2.1")));
+}
+
+@Test
+public void testValue()
+{
+	final String[][] canon = {
+		{ "192.0.2.1", "192.0.2.1" },
+		{ "0.0.0.0", "0.0.0.0" },
+		{ "255.255.255.255", "255.255.255.255" },
+		{ "::", "::" },
+		{ "::1", "::1" },
+		{ "1::", "1::" },
+		{ "2001:DB8:0:0:0:0:0:1", "2001:db8::1" },
+		{ "2001:db8:0:0:1:0:0:1", "2001:db8::1:0:0:1" },
+		{ "2001:0:0:1:0:0:0:1", "2001:0:0:1::1" },
+		{ "2001:db8:0:1:1:1:1:1", "2001:db8:0:1:1:1:1:1" },
+		{ "2001:0db8:0a0b:12f0::0001", "2001:db8:a0b:12f0::1" },
+		{ "::ffff:1.2.3.4", "::ffff:1.2.3.4" },
+		{ "::FFFF:102:304", "::ffff:1.2.3.4" },
+		{ "64:ff9b::192.0.2.1", "64:ff9b::c000:201" },
+	};
+	for (final String[] c : canon) {
+		val v = IPAddress.value(c[0]);
+		assertNotNull(v, () -> "not valid: " + c[0]);
+		assertEquals(c[1], v.toString(), () -> "not canonical: " + c[0]);
+	}
+	val v4 = IPAddress.value("192.0.2.1");
+	assertNotNull(v4);
+	assertTrue(v4.isV4());
+	assertEquals(0xC0000201, v4.toInt());
+	assertEquals(0L, v4.getHigh());
+	assertEquals(0x0000FFFFC0000201L, v4.getLow());
+	assertArrayEquals(new byte[] { (byte)192, 0, 2, 1 }, v4.toBytes());
+	assertEquals(IPAddress.Value.ofV4(0xC0000201), v4);
+	val m = IPAddress.value("::ffff:192.0.2.1");
+	assertNotNull(m);
+	assertFalse(m.isV4(), "v4-mapped reported as IPv4");
+	assertEquals(v4.getLow(), m.getLow());
+	assertNotEquals(v4, m);
+	assertEquals(16, m.toBytes().length);
+	val v6 = IPAddress.value("2001:db8::1");
+	assertNotNull(v6);
+	assertEquals(0x20010DB800000000L, v6.getHigh());
+	assertEquals(1L, v6.getLow());
+	assertEquals(IPAddress.Value.ofV6(0x20010DB800000000L, 1L), v6);
+	assertEquals(v6.hashCode(), IPAddress.value("2001:DB8:0::1").hashCode());
+	assertNotEquals(v6, "2001:db8::1");
+	final StringBuilder sb = new StringBuilder("[IPv6:2001:db8::1]");
+	assertEquals(v6, IPAddress.value(sb, 6, sb.length() - 1));
+	assertTrue(IPAddress.isV6(sb, 6, sb.length() - 1));
+	assertFalse(IPAddress.isV4(sb, 6, sb.length() - 1));
+	assertFalse(IPAddress.isV6(sb, 5, sb.length() - 1));
+	assertTrue(IPAddress.isV4("x192.0.2.1", 1, 10));
+	assertFalse(IPAddress.isV4("x192.0.2.1", 0, 10));
+	assertFalse(IPAddress.isV6(null, 0, 0));
+	assertNull(IPAddress.value(null));
+	assertNull(IPAddress.value("192.0.2.1:25"));
+	assertNull(IPAddress.value("2001:db8::1%em0"));
+}
+
 }
@@ -0,0 +1,131 @@
+package org.evolvis.tartools.rfc822;
+
+/*-
+ * Copyright © 2026 mirabilos (t.glaser@qvest-digital.com)
+ * Licensor: Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test {@link OctetSequence} class
+ *
+ * @author mirabilos (t.glaser@qvest-digital.com)
+ */
+class OctetSequenceTest {
+
+private static final String HDR = "To: Foo Bar <foo@example.com>, bar@example.org\r\n";
+
+private static byte[]
+octets(final String s)
+{
+	return s.getBytes(StandardCharsets.UTF_8);
+}
+
+private static void
+tv(final CharSequence cs)
+{
+	assertEquals(HDR.length() - 6, cs.length(), "wrong length");
+	assertEquals('F', cs.charAt(0), "wrong first octet");
+	assertEquals("Foo Bar <foo@example.com>, bar@example.org", cs.toString());
+	assertEquals("example.com", cs.subSequence(13, 24).toString());
+	val p = Path.of(cs);
+	assertNotNull(p, "cannot instantiate parser");
+	val l = p.asAddressList();
+	assertNotNull(l, "cannot parse");
+	assertTrue(l.isValid(), "not valid");
+	assertEquals("Foo Bar <foo@example.com>, bar@example.org", l.toString());
+	assertTrue(FQDN.isDomain(cs, 13, 24), "domain not valid");
+}
+
+@Test
+public void
+testPos()
+{
+	final byte[] b = octets(HDR);
+	tv(OctetSequence.wrap(b, 4, b.length - 6));
+	tv(OctetSequence.wrap(b).subSequence(4, b.length - 2));
+	final ByteBuffer hb = ByteBuffer.wrap(b, 4, b.length - 6);
+	tv(OctetSequence.wrap(hb.slice()));
+	tv(OctetSequence.wrap(hb.asReadOnlyBuffer()));
+	final ByteBuffer db = ByteBuffer.allocateDirect(b.length);
+	db.put(b).position(4).limit(b.length - 2);
+	val os = OctetSequence.wrap(db);
+	db.clear();
+	tv(os);
+	assertEquals(0, db.position(), "buffer position changed");
+}
+
+@Test
+public void
+testNonASCII()
+{
+	// same results as with decoded UTF-8 input
+	for (final String s : new String[] { "Fö <foo@example.com>",
+	    "foo@exämple.com", "\"Fö\" <foo@example.com>", "f🐈o@example.com" }) {
+		val os = OctetSequence.wrap(octets(s));
+		assertEquals(Path.of(s).asAddressList() == null,
+		    Path.of(os).asAddressList() == null, s);
+		assertEquals(UXAddress.of(s).asAddressList() == null,
+		    UXAddress.of(os).asAddressList() == null, s);
+	}
+	assertFalse(FQDN.isDomain(OctetSequence.wrap(octets("exämple.com"))));
+	val os = OctetSequence.wrap(new byte[] { (byte)0xC3, (byte)0xA4 });
+	assertEquals(2, os.length(), "octets not counted individually");
+	assertEquals(0xC3, os.charAt(0), "octet not zero-extended");
+	assertEquals("Ã¤", os.toString(), "not ISO-8859-1");
+}
+
+@Test
+public void
+testNeg()
+{
+	final byte[] b = octets("abc");
+	assertThrows(IndexOutOfBoundsException.class, () -> OctetSequence.wrap(b, 2, 2));
+	assertThrows(IndexOutOfBoundsException.class, () -> OctetSequence.wrap(b, -1, 2));
+	assertThrows(IndexOutOfBoundsException.class, () -> OctetSequence.wrap(b, 1, -1));
+	val os = OctetSequence.wrap(b, 1, 2);
+	assertEquals("bc", os.toString());
+	assertThrows(IndexOutOfBoundsException.class, () -> os.charAt(2));
+	assertThrows(IndexOutOfBoundsException.class, () -> os.charAt(-1));
+	assertThrows(IndexOutOfBoundsException.class, () -> os.subSequence(1, 3));
+	assertThrows(IndexOutOfBoundsException.class, () -> os.subSequence(2, 1));
+	assertThrows(IndexOutOfBoundsException.class, () -> os.subSequence(-1, 1));
+	assertEquals("", os.subSequence(2, 2).toString());
+}
+
+@Test
+public void
+testLombokNonNull()
+{
+	// test extra branches caused by Lombok @NonNull
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> OctetSequence.wrap((byte[])null));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> OctetSequence.wrap(null, 0, 0));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> OctetSequence.wrap((ByteBuffer)null));
+}
+
+}
@@ -23,6 +23,7 @@ package org.evolvis.tartools.rfc822;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
+import java.nio.CharBuffer;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -103,4 +104,87 @@ public void testNeg()
 	assertNull(Parser.of(Parser.class, ""), "unexpectedly able to instantiate Parser");
 }
 
+@Test
+public void testReset()
+{
+	final TestParser tp = TestParser.of("abc");
+	assertNotNull(tp, "cannot instantiate for \"abc\"");
+	assertEquals('b', tp.bra(1), "cannot move");
+	val bc = tp.testSubstringConstructor(1, 3);
+	assertTrue(tp.init("meow"), "cannot reinitialise");
+	assertEquals(0, tp.pos(), "reinitialised pos wrong");
+	assertEquals('m', tp.cur(), "reinitialised cur wrong");
+	assertEquals('e', tp.peek(), "reinitialised peek wrong");
+	assertEquals("bc", bc.toString(), "substring changed by reinitialisation");
+	assertEquals("eo", tp.testSubstringConstructor(1, 3).toString());
+	assertFalse(tp.init(t1 + " "), "length check didn’t trigger");
+	assertFalse(tp.init(null), "nil check didn’t trigger");
+	assertThrows(IndexOutOfBoundsException.class, () -> tp.jmp(0),
+	    "failed reinitialisation leaves parser usable");
+	assertEquals("bc", bc.toString(), "substring changed by failed reinitialisation");
+	assertTrue(tp.init(""), "cannot reinitialise after failure");
+	assertEquals(-1, tp.cur(), "\"\" doesn’t start with EOF");
+}
+
+@Test
+public void testCharSequence()
+{
+	final StringBuilder sb = new StringBuilder("xx(ä \uD83D\uDC31)");
+	final TestParser tp = TestParser.of(sb);
+	assertNotNull(tp, "cannot instantiate for StringBuilder");
+	assertEquals('x', tp.cur(), "StringBuilder cur wrong");
+	assertTrue(tp.init(sb, 3, sb.length() - 1), "cannot reinitialise for range");
+	assertEquals('ä', tp.cur(), "range doesn’t start at beginning");
+	assertEquals("ä \uD83D\uDC31", tp.s(), "range not materialised");
+	val w = tp.asWords();
+	assertNotNull(w, "cannot parse range as words");
+	assertEquals(2, w.size(), "range not delimited");
+	assertEquals("ä", w.get(0), "no umlauts!");
+	assertEquals("\uD83D\uDC31", w.get(1), "cat went missing from range");
+	// range splitting a surrogate pair
+	assertTrue(tp.init(sb, 3, sb.length() - 2), "cannot reinitialise");
+	tp.jmp(2);
+	assertEquals(0xD83D, tp.cur(), "surrogate read past end of range");
+	assertEquals(-1, tp.peek(), "range end not honoured");
+	assertEquals("ä", tp.testSubstringConstructor(0, 1).toString(), "substring not relative to range");
+	assertThrows(IndexOutOfBoundsException.class, () -> tp.init(sb, 3, 2));
+	assertThrows(IndexOutOfBoundsException.class, () -> tp.init(sb, -1, 2));
+	assertThrows(IndexOutOfBoundsException.class, () -> tp.init(sb, 0, sb.length() + 1));
+	assertFalse(tp.init(null, 3, 2), "nil check didn’t trigger");
+	assertTrue(tp.init(CharBuffer.wrap("abc")), "cannot reinitialise for CharBuffer");
+	assertEquals("abc", tp.s());
+}
+
+private static void
+steps(final TestParser tp, final int... exp)
+{
+	tp.jmp(0);
+	for (int i = 0; i < exp.length; ++i) {
+		assertEquals(exp[i], tp.cur(), "cur wrong at step " + i);
+		assertEquals(i + 1 < exp.length ? exp[i + 1] : -1, tp.peek(),
+		    "peek wrong at step " + i);
+		final int c = tp.accept();
+		assertEquals(c, tp.jmp(tp.pos()), "accept ≠ jmp at step " + i);
+	}
+	assertEquals(-1, tp.cur(), "not at end");
+}
+
+@Test
+public void testNarrow()
+{
+	final TestParser tp = TestParser.of("a\uD83D\uDC31b");
+	assertNotNull(tp, "cannot instantiate with surrogates");
+	steps(tp, 'a', 0x1F431, 'b');
+	assertTrue(tp.init("ab\u00E4"), "cannot reinitialise without surrogates");
+	steps(tp, 'a', 'b', 0xE4);
+	assertTrue(tp.init("a\uDC31"), "cannot reinitialise with lone surrogate");
+	steps(tp, 'a', 0xDC31);
+	assertTrue(tp.init(OctetSequence.wrap(new byte[] { 'x', (byte)0xF0, (byte)0x9F })),
+	    "cannot reinitialise for octets");
+	steps(tp, 'x', 0xF0, 0x9F);
+	tp.jmp(0);
+	assertEquals(-1, tp.skip(c -> true), "skip not at end");
+	assertEquals(3, tp.pos(), "skip past end");
+}
+
 }
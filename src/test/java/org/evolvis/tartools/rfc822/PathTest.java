@@ -25,12 +25,18 @@ import lombok.AllArgsConstructor;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Test {@link Path} class
@@ -180,6 +186,79 @@ tal(final Tspec s, final String addr, final Path tp, final Consumer<Path.Address
 	}
 }
 
+private static void
+tcr(final String what, final String addr, final Path.ParserResult exp,
+    final Path.ParserResult res)
+{
+	if (exp == null) {
+		assertNull(res,
+		    () -> "classify unexpectedly parses as " + what + ": " + addr);
+		return;
+	}
+	assertNotNull(res,
+	    () -> "classify does not parse as " + what + ": " + addr);
+	assertEquals(exp.isValid(), res.isValid(),
+	    () -> "classify validity mismatch for " + what + ": " + addr);
+	assertEquals(exp.toString(), res.toString(),
+	    () -> "classify string mismatch for " + what + ": " + addr);
+}
+
+private static void
+tc(final String addr, final Path tp)
+{
+	val res = tp.classify();
+	assertNotNull(res, () -> "cannot classify: " + addr);
+	tcr("addr-spec", addr, tp.asAddrSpec(), res.getAddrSpec());
+	tcr("mailbox", addr, tp.forSender(false), res.getMailbox());
+	tcr("address", addr, tp.forSender(true), res.getAddress());
+	tcr("mailboxList", addr, tp.asMailboxList(), res.getMailboxList());
+	tcr("addressList", addr, tp.asAddressList(), res.getAddressList());
+}
+
+private static void
+tmemo(final String addr, final Path tp)
+{
+	final Path mp = Path.of(addr);
+	assertNotNull(mp, () -> "cannot instantiate for: " + addr);
+	assertFalse(mp.isMemoising(), "memoising by default");
+	mp.setMemoising(true);
+	// reverse order of t() to reuse the memoised results differently
+	val cls = mp.classify();
+	tcr("memoised addressList", addr, tp.asAddressList(), mp.asAddressList());
+	tcr("memoised mailboxList", addr, tp.asMailboxList(), mp.asMailboxList());
+	tcr("memoised address", addr, tp.forSender(true), mp.forSender(true));
+	tcr("memoised mailbox", addr, tp.forSender(false), mp.forSender(false));
+	tcr("memoised addr-spec", addr, tp.asAddrSpec(), mp.asAddrSpec());
+	tcr("memoised classify", addr, tp.asAddressList(), cls.getAddressList());
+}
+
+private static void
+tvr(final String what, final String addr, final Path.ParserResult exp,
+    final Path.Validity res, final Path.Validity sres)
+{
+	final Path.Validity v = exp == null ? Path.Validity.UNPARSEABLE :
+	    exp.isValid() ? Path.Validity.VALID : Path.Validity.INVALID;
+	assertEquals(v, res, () -> "validation mismatch for " + what + ": " + addr);
+	assertEquals(v, sres, () -> "static validation mismatch for " + what + ": " + addr);
+}
+
+private static void
+tv(final String addr, final Path tp)
+{
+	tvr("addr-spec", addr, tp.asAddrSpec(), tp.validateAsAddrSpec(),
+	    Path.validateAddrSpec(addr));
+	assertEquals(tp.validateAsAddrSpec() == Path.Validity.VALID,
+	    Path.isValidAddrSpec(addr), () -> "isValidAddrSpec mismatch: " + addr);
+	tvr("mailbox", addr, tp.forSender(false), tp.validateForSender(false),
+	    Path.validateMailbox(addr));
+	tvr("address", addr, tp.forSender(true), tp.validateForSender(true),
+	    Path.validateAddress(addr));
+	tvr("mailboxList", addr, tp.asMailboxList(), tp.validateAsMailboxList(),
+	    Path.validateMailboxList(addr));
+	tvr("addressList", addr, tp.asAddressList(), tp.validateAsAddressList(),
+	    Path.validateAddressList(addr));
+}
+
 private static void
 t(final Tspec mailbox, final Tspec address, final Tspec mailboxList,
     final Tspec addressList, final String addr,
@@ -191,6 +270,9 @@ t(final Tspec mailbox, final Tspec address, final Tspec mailboxList,
 	ta(address, addr, tp);
 	tml(mailboxList, addr, tp, listTest);
 	tal(addressList, addr, tp, listTest);
+	tc(addr, tp);
+	tmemo(addr, tp);
+	tv(addr, tp);
 }
 
 @AllArgsConstructor
@@ -488,7 +570,7 @@ testPos()
 		assertIterableEquals(s, l.flattenAddrSpecs());
 	});
 	val S17 = s17.replace(',', ';');
-	t(null, null, SN, SN, S17, null);
+	t(null, null, SN, /*UXAddress-group-list-test*/ SN, S17, null);
 
 	// more synthetic ones
 	val lp16 = "0123456789ABCDEF";
@@ -595,4 +677,541 @@ testLombokNonNull()
 	assertThrows(NullPointerException.class, () -> new Path.AddrSpec(l, null, false));
 }
 
+@Test
+public void
+testReuse()
+{
+	assertNull(Path.forThread(null));
+	val p = Path.forThread("Foo Bar <a@example.com>");
+	assertNotNull(p);
+	val r = p.forSender(false);
+	assertNotNull(r);
+	assertSame(p, Path.forThread("b@example.org"), "not reused");
+	assertEquals("Foo Bar <a@example.com>", r.toString(), "result changed by reuse");
+	assertEquals("Foo Bar", r.getLabel().toString());
+	val a = p.asAddrSpec();
+	assertNotNull(a);
+	assertEquals("b@example.org", a.toString());
+	assertNull(p.reset(null));
+	assertThrows(IndexOutOfBoundsException.class, p::asAddrSpec);
+	assertSame(p, p.reset("c@example.net"));
+	val c = p.asAddrSpec();
+	assertNotNull(c);
+	assertEquals("c@example.net", c.toString());
+	assertEquals("b@example.org", a.toString(), "result changed by reset");
+	val o = Path.of("d@example.com");
+	assertNotNull(o);
+	assertNotSame(o, Path.forThread("d@example.com"), "of() must not be shared");
+}
+
+private static void
+td(final String addr, final String label, final String labelData,
+    final String localPart, final String localPartData,
+    final String domain, final String domainData,
+    final boolean valid, final boolean localPartValid)
+{
+	final Path tp = Path.of(addr);
+	assertNotNull(tp, () -> "cannot instantiate for: " + addr);
+	val m = tp.forSender(false);
+	assertNotNull(m, () -> "does not parse as mailbox: " + addr);
+	// reuse before accessing data, which must not change it
+	assertSame(tp, tp.reset("Other <other@example.org>"));
+	assertNotNull(tp.forSender(false));
+	val lb = m.getLabel();
+	if (label == null)
+		assertNull(lb, () -> "unexpected label: " + addr);
+	else {
+		assertNotNull(lb, () -> "missing label: " + addr);
+		assertEquals(labelData, lb.getData(), () -> "label data: " + addr);
+		assertEquals(label, lb.toString(), () -> "label: " + addr);
+	}
+	val as = m.getMailbox();
+	assertEquals(valid, as.isValid(), () -> "validity: " + addr);
+	val lp = as.getLocalPart();
+	assertEquals(localPartData, lp.getData(), () -> "local-part data: " + addr);
+	assertEquals(localPart, lp.toString(), () -> "local-part: " + addr);
+	assertTrue(lp instanceof Path.AddrSpecSIDE);
+	assertEquals(localPartValid, ((Path.AddrSpecSIDE)lp).isValid(),
+	    () -> "local-part validity: " + addr);
+	val dom = as.getDomain();
+	assertEquals(domain, dom.toString(), () -> "domain: " + addr);
+	if (domainData != null)
+		assertEquals(domainData, dom.getData(), () -> "domain data: " + addr);
+	assertEquals(localPart + "@" + domain, as.toString());
+}
+
+@Test
+public void
+testData()
+{
+	td("\"Public, John Q. \\\"JQ\\\"\" <\"john q\"@mail.example.com>", "\"Public, John Q. \\\"JQ\\\"\"", "Public, John Q. \"JQ\"",
+	    "\"john q\"", "\"john q\"", "mail.example.com", "mail.example.com", true, true);
+	td("Pete(A nice \\) chap (really)) <pete(his account)@silly.example(his (own) host)>", "Pete", "Pete",
+	    "pete", "pete", "silly.example", "silly.example", true, true);
+	td("Joe  \"Q.\"(x\"y)   Public <joe@example.com>", "Joe  \"Q.\"(x\"y)   Public", "Joe  Q.(x\"y)   Public",
+	    "joe", "joe", "example.com", "example.com", true, true);
+	td("Folded\r\n Name \"with\r\n\tquote\" <\"fo\r\n lded\"@example.com>", "Folded Name \"with\tquote\"", "Folded Name with\tquote",
+	    "\"fo lded\"", "\"fo lded\"", "example.com", "example.com", true, true);
+	td("\"a\"\"b\" c <x@[192.0.2.1]>", "\"a\"\"b\" c", "ab c",
+	    "x", "x", "[192.0.2.1]", null, true, true);
+	td("\"tab\there\"@example.com", null, null,
+	    "\"tab\there\"", "\"tab\there\"", "example.com", "example.com", false, false);
+	td("x <y@[IPv6:2001:db8::1]>", "x", "x",
+	    "y", "y", "[IPv6:2001:db8::1]", null, true, true);
+	td("\"\" <\"\"@example.com>", "\"\"", "",
+	    "\"\"", "\"\"", "example.com", "example.com", true, true);
+}
+
+@Test
+public void
+testMemoising()
+{
+	final StringBuilder sb = new StringBuilder();
+	for (int i = 0; i < 200; ++i)
+		sb.append(i == 0 ? "" : ", ").append("(c) \"x (y)\" (c (n)) Word Word").
+		    append(i % 3 == 0 ? " (c) <a@example.com> (c)" :
+		    i % 3 == 1 ? " : b@example.com (c), c@example.com;" : " : ;");
+	final String in = sb.toString();
+	val p = Path.of(in);
+	assertNotNull(p);
+	val exp = p.asAddressList();
+	assertNotNull(exp, "test input does not parse");
+	assertTrue(exp.isAddressList(), "test input has no groups");
+	p.setMemoising(true);
+	assertTrue(p.isMemoising());
+	val res = p.asAddressList();
+	assertNotNull(res);
+	assertEquals(exp.toString(), res.toString(), "memoised result differs");
+	assertEquals(exp.isValid(), res.isValid(), "memoised validity differs");
+	assertNull(p.asMailboxList(), "groups in mailbox-list");
+	assertSame(p, p.reset("Foo <d@example.com>"));
+	assertTrue(p.isMemoising(), "setting not retained");
+	val m = p.forSender(false);
+	assertNotNull(m, "stale memo used after reset");
+	assertEquals("Foo <d@example.com>", m.toString());
+	assertEquals(exp.toString(), res.toString(), "result changed by reset");
+	assertSame(p, p.reset(in, 0, 16));
+	assertNull(p.asAddressList(), "stale memo used after reset");
+	p.setMemoising(false);
+	assertFalse(p.isMemoising());
+	assertSame(p, p.reset(in));
+	assertEquals(exp.toString(), p.asAddressList().toString());
+}
+
+/**
+ * Input that counts how often it is read, as a measure of parsing work
+ * that does not depend on the machine or its load.
+ */
+private static final class CountingSequence implements CharSequence {
+
+	private final String s;
+	long reads;
+
+	CountingSequence(final String s)
+	{
+		this.s = s;
+	}
+
+	@Override
+	public int
+	length()
+	{
+		return s.length();
+	}
+
+	@Override
+	public char
+	charAt(final int index)
+	{
+		++reads;
+		return s.charAt(index);
+	}
+
+	@Override
+	public CharSequence
+	subSequence(final int start, final int end)
+	{
+		return s.subSequence(start, end);
+	}
+
+	@Override
+	public String
+	toString()
+	{
+		return s;
+	}
+
+}
+
+private static long
+memoReads(final int n)
+{
+	final StringBuilder sb = new StringBuilder();
+	for (int i = 0; i < n; ++i)
+		sb.append(i == 0 ? "" : ", ").append("(c) \"x (y)\" (c (n)) Word Word").
+		    append(i % 3 == 0 ? " (c) <a@example.com> (c)" :
+		    i % 3 == 1 ? " : b@example.com (c), c@example.com;" : " : ;");
+	final CountingSequence in = new CountingSequence(sb.toString());
+	val p = Path.of(in);
+	assertNotNull(p);
+	p.setMemoising(true);
+	assertNotNull(p.asAddressList());
+	return in.reads;
+}
+
+@Test
+public void
+testMemoisingLinear()
+{
+	// 16 times the addresses must mean about 16 times the work
+	final long small = memoReads(100);
+	final long large = memoReads(1600);
+	assertTrue(large <= 17 * small, () -> "superlinear: " + small +
+	    " reads for 100 addresses, " + large + " for 1600");
+}
+
+@Test
+public void
+testCharSequence()
+{
+	final StringBuilder sb = new StringBuilder("To: Foo Bar <a@example.com>, b@example.org\r\n");
+	val p = Path.of(sb, 4, sb.length() - 2);
+	assertNotNull(p);
+	val l = p.asAddressList();
+	assertNotNull(l);
+	assertTrue(l.isValid());
+	assertEquals("Foo Bar <a@example.com>, b@example.org", l.toString());
+	final StringBuilder sb2 = new StringBuilder("c@example.net");
+	val q = Path.forThread(CharBuffer.wrap(sb2));
+	assertNotNull(q);
+	val a = q.asAddrSpec();
+	assertNotNull(a);
+	assertEquals("c@example.net", a.toString());
+	assertSame(q, q.reset(sb2, 2, sb2.length()));
+	assertNull(q.asAddrSpec(), "range not honoured");
+	assertEquals("Foo Bar <a@example.com>, b@example.org", l.toString(),
+	    "result changed by reset");
+	assertThrows(IndexOutOfBoundsException.class, () -> Path.of(sb, 0, 99));
+}
+
+@Test
+public void
+testValidation()
+{
+	assertEquals(Path.Validity.UNPARSEABLE, Path.validateAddressList(null));
+	assertFalse(Path.isValidAddrSpec(null));
+	for (final String s : new String[] { "x@[ 192.0.2.1]", "x@[192.0.2.1\r\n ]",
+	    "x@[IPv6:2001:db8::1]", "x@[ipv6:2001:db8::1]", "x@[IPv6:192.0.2.1]",
+	    "x@[192.0.2.256]", "x@[]", "\"fo\r\n lded\"@example.com",
+	    "\"tab\there\"@example.com", "Foo <x@[192.0.2.1]>, y@ (c) example.com",
+	    "G: a@example.com, b@-x.example.com;", "G: (c) ;, x@y.z", "a@b@c" }) {
+		final Path tp = Path.of(s);
+		assertNotNull(tp, () -> "cannot instantiate for: " + s);
+		tv(s, tp);
+	}
+	// the static methods must not reinitialise the caller’s parser
+	val p = Path.forThread("a@example.com");
+	assertNotNull(p);
+	assertEquals(Path.Validity.UNPARSEABLE, Path.validateAddrSpec("b@"));
+	assertEquals(Path.Validity.VALID, p.validateAsAddrSpec());
+	assertEquals("a@example.com", p.asAddrSpec().toString());
+}
+
+@Test
+public void
+testValidationAllocation()
+{
+	val tb = ManagementFactory.getThreadMXBean();
+	assumeTrue(tb instanceof com.sun.management.ThreadMXBean,
+	    "allocation counting not available");
+	val ctb = (com.sun.management.ThreadMXBean)tb;
+	assumeTrue(ctb.isThreadAllocatedMemorySupported() &&
+	    ctb.isThreadAllocatedMemoryEnabled(),
+	    "allocation counting not enabled");
+	final long tid = Thread.currentThread().getId();
+	final String in = "\"Public, John Q.\" <john.q.public@mail.example.com>, " +
+	    "A Group(Some people):Chris Jones <c@(Chris's host.)public.example>,\r\n" +
+	    " joe@example.org, John <jdoe@one.test> (my dear friend);, " +
+	    "x@[192.0.2.1], y@[IPv6:2001:db8::1], z@[ipv6:::ffff:192.0.2.1]";
+	final int n = 10000;
+	// warm up, also initialising the thread-local parser
+	for (int i = 0; i < n; ++i)
+		assertEquals(Path.Validity.VALID, Path.validateAddressList(in));
+	final long before = ctb.getThreadAllocatedBytes(tid);
+	int valid = 0;
+	for (int i = 0; i < n; ++i)
+		if (Path.validateAddressList(in) == Path.Validity.VALID)
+			++valid;
+	final long allocated = ctb.getThreadAllocatedBytes(tid) - before;
+	assertEquals(n, valid);
+	// allow for the measurement itself, but not one byte per operation
+	assertTrue(allocated < n, () -> "validation allocates: " + allocated + " bytes");
+}
+
+@Test
+public void
+testParseAll()
+{
+	final String[] kinds = { "a@example.com", "Foo <b@example.org>",
+	    "G: c@example.net, d@example.com;", "e@-x.example.com", "@", null,
+	    "f@example.com, Bar <g@example.com>", "\"h i\"@[192.0.2.1]" };
+	val in = new ArrayList<String>();
+	for (int i = 0; i < 2000; ++i)
+		in.add(kinds[i % kinds.length] == null ? null :
+		    kinds[i % kinds.length].replace("example", "example" + i));
+	for (final Path.Mode mode : Path.Mode.values()) {
+		val res = Path.parseAll(in, mode);
+		val vs = Path.validateAll(in, mode);
+		assertEquals(in.size(), res.size(), "result count");
+		assertEquals(in.size(), vs.size(), "validity count");
+		for (int i = 0; i < in.size(); ++i) {
+			final String s = in.get(i);
+			final Path p = Path.of(s);
+			final Path.ParserResult exp = p == null ? null : p.parse(mode);
+			final Path.ParserResult r = res.get(i);
+			final String what = mode + " #" + i + ": " + s;
+			if (exp == null) {
+				assertNull(r, () -> "unexpectedly parses as " + what);
+				assertEquals(Path.Validity.UNPARSEABLE, vs.get(i), what);
+				continue;
+			}
+			assertNotNull(r, () -> "does not parse as " + what);
+			assertEquals(exp.toString(), r.toString(), () -> "order or result mismatch for " + what);
+			assertEquals(exp.isValid(), r.isValid(), () -> "validity mismatch for " + what);
+			assertEquals(p.validate(mode), vs.get(i), what);
+		}
+	}
+	assertTrue(Path.parseAll(Collections.emptyList(), Path.Mode.ADDRESS_LIST).isEmpty());
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> Path.parseAll(null, Path.Mode.ADDR_SPEC));
+	//noinspection ConstantConditions
+	assertThrows(NullPointerException.class, () -> Path.validateAll(in, null));
+}
+
+@Test
+public void
+testCache()
+{
+	final ClockCache<Path.CacheKey, Path.ParserResult> c = new ClockCache<>(16);
+	Path.setCache(c);
+	try {
+		assertSame(c, Path.getCache());
+		final StringBuilder sb = new StringBuilder("Foo <a@example.com>, b@example.org");
+		val r = Path.parse(sb, Path.Mode.ADDRESS_LIST);
+		assertNotNull(r);
+		assertTrue(r.isValid());
+		// cached result does not depend on the (modified) input buffer
+		sb.setLength(0);
+		sb.append("Foo <a@example.com>, b@example.org");
+		assertSame(r, Path.parse(sb, Path.Mode.ADDRESS_LIST), "not cached");
+		sb.setCharAt(5, 'x');
+		assertEquals("Foo <a@example.com>, b@example.org", r.toString());
+		// keyed by mode as well
+		assertNull(Path.parse("Foo <a@example.com>, b@example.org", Path.Mode.ADDR_SPEC));
+		assertNull(Path.parse("Foo <a@example.com>, b@example.org", Path.Mode.ADDR_SPEC));
+		assertNull(Path.parse(null, Path.Mode.ADDR_SPEC));
+		assertEquals(2, c.hits());
+		assertEquals(2, c.misses());
+		assertEquals(2, c.size());
+		val l = Path.parseAll(Arrays.asList("Foo <a@example.com>, b@example.org",
+		    "c@example.com", null), Path.Mode.ADDRESS_LIST);
+		assertSame(r, l.get(0), "parseAll not cached");
+		assertNotNull(l.get(1));
+		assertNull(l.get(2));
+		assertEquals(3, c.size());
+		// results are immutable
+		val al = (Path.AddressList)r;
+		assertThrows(UnsupportedOperationException.class, () -> al.getAddresses().clear());
+		val g = (Path.AddressList)Path.parse("G: c@example.net;, H:;", Path.Mode.ADDRESS_LIST);
+		assertNotNull(g);
+		assertThrows(UnsupportedOperationException.class, () -> g.getAddresses().get(0).getMailboxen().clear());
+		assertThrows(UnsupportedOperationException.class, () -> g.getAddresses().get(1).getMailboxen().add(null));
+	} finally {
+		Path.setCache(null);
+	}
+	assertNull(Path.getCache());
+	assertNotSame(Path.parse("Foo <a@example.com>", Path.Mode.MAILBOX),
+	    Path.parse("Foo <a@example.com>", Path.Mode.MAILBOX), "cached after removal");
+}
+
+private static long
+fnv(final String s)
+{
+	long h = 0xCBF29CE484222325L;
+	for (int i = 0; i < s.length(); ++i)
+		h = (h ^ s.charAt(i)) * 0x100000001B3L;
+	h ^= h >>> 33;
+	h *= 0xFF51AFD7ED558CCDL;
+	h ^= h >>> 33;
+	h *= 0xC4CEB9FE1A85EC53L;
+	return h ^ (h >>> 33);
+}
+
+private static void
+tck(final String addr, final String key)
+{
+	val a = Path.of(addr).asAddrSpec();
+	assertNotNull(a, addr);
+	assertEquals(key, a.canonicalKey(), addr);
+	assertEquals(fnv(key), a.fingerprint(), addr);
+	// the canonical key is a fixpoint
+	val k = Path.of(key).asAddrSpec();
+	assertNotNull(k, key);
+	assertEquals(key, k.canonicalKey(), key);
+	assertEquals(a.fingerprint(), k.fingerprint(), key);
+}
+
+@Test
+public void
+testCanonical()
+{
+	tck("Foo.Bar@Example.COM", "Foo.Bar@example.com");
+	tck("\"foo.bar\"@example.com", "foo.bar@example.com");
+	tck("\"f\\oo\"@example.com", "foo@example.com");
+	tck("\"foo bar\"@example.com", "\"foo bar\"@example.com");
+	tck("\"foo\r\n bar\"@example.com", "\"foo bar\"@example.com");
+	tck("\"a\\\"b\\\\c\"@example.com", "\"a\\\"b\\\\c\"@example.com");
+	tck("\".foo\"@example.com", "\".foo\"@example.com");
+	tck("\"foo.\"@example.com", "\"foo.\"@example.com");
+	tck("\"a..b\"@example.com", "\"a..b\"@example.com");
+	tck("\"\"@example.com", "\"\"@example.com");
+	tck(" foo (comment) @ example.com ", "foo@example.com");
+	tck("x@[192.0.2.1]", "x@[192.0.2.1]");
+	tck("x@[ipv6:2001:DB8:0:0:0:0:0:1]", "x@[IPv6:2001:db8::1]");
+	tck("x@[IPv6:::FFFF:192.0.2.1]", "x@[IPv6:::ffff:192.0.2.1]");
+	// invalid domain-literal: unfolded and lowercased
+	tck("x@[Foo]", "x@[foo]");
+	assertNotEquals(Path.of("Foo@example.com").asAddrSpec().fingerprint(),
+	    Path.of("foo@example.com").asAddrSpec().fingerprint());
+
+	val tb = ManagementFactory.getThreadMXBean();
+	assumeTrue(tb instanceof com.sun.management.ThreadMXBean,
+	    "allocation counting not available");
+	val ctb = (com.sun.management.ThreadMXBean)tb;
+	assumeTrue(ctb.isThreadAllocatedMemorySupported() &&
+	    ctb.isThreadAllocatedMemoryEnabled(),
+	    "allocation counting not enabled");
+	final long tid = Thread.currentThread().getId();
+	val a = Path.of("\"John.Q.Public\"@Mail.Example.COM").asAddrSpec();
+	final int n = 10000;
+	long h = 0;
+	for (int i = 0; i < n; ++i)
+		h ^= a.fingerprint();
+	final long before = ctb.getThreadAllocatedBytes(tid);
+	for (int i = 0; i < n; ++i)
+		h ^= a.fingerprint();
+	final long allocated = ctb.getThreadAllocatedBytes(tid) - before;
+	assertEquals(0, h);
+	assertTrue(allocated < n, () -> "fingerprint allocates: " + allocated + " bytes");
+}
+
+private static Path.AddressList
+al(final String s)
+{
+	val rv = Path.of(s).asAddressList();
+	assertNotNull(rv, s);
+	return rv;
+}
+
+private static <T extends Comparable<T>> void
+teq(final T a, final T b)
+{
+	assertEquals(a, b);
+	assertEquals(b, a);
+	assertEquals(a.hashCode(), b.hashCode());
+	assertEquals(0, a.compareTo(b));
+	assertEquals(0, b.compareTo(a));
+}
+
+private static <T extends Comparable<T>> void
+tlt(final T a, final T b)
+{
+	assertNotEquals(a, b);
+	assertNotEquals(b, a);
+	assertTrue(a.compareTo(b) < 0, () -> a + " not < " + b);
+	assertTrue(b.compareTo(a) > 0, () -> b + " not > " + a);
+}
+
+@Test
+public void
+testValueSemantics()
+{
+	val a = Path.of("Foo@Example.COM").asAddrSpec();
+	val b = Path.of("\"Foo\"@example.com").asAddrSpec();
+	teq(a, b);
+	assertEquals(a.hashCode(), a.hashCode());
+	assertNotEquals(a, null);
+	assertNotEquals(a, a.toString());
+	// local-part is case-sensitive
+	tlt(a, Path.of("foo@example.com").asAddrSpec());
+	// domain first
+	tlt(Path.of("z@a.example").asAddrSpec(), Path.of("a@b.example").asAddrSpec());
+	// quoted local-part containing @
+	tlt(Path.of("\"a@b\"@b.example").asAddrSpec(), Path.of("a@c.example").asAddrSpec());
+	tlt(Path.of("\"a@b\"@b.example").asAddrSpec(), Path.of("a@b.example").asAddrSpec());
+	tlt(Path.of("x@[192.0.2.1]").asAddrSpec(), Path.of("x@[IPv6:2001:db8::1]").asAddrSpec());
+	teq(Path.of("x@[IPv6:2001:DB8:0::1]").asAddrSpec(), Path.of("x@[ipv6:2001:db8::1]").asAddrSpec());
+
+	val l1 = al("Foo <a@Example.com>, G: b@example.org, c@example.net;");
+	val l2 = al("Foo\r\n <a@example.com>,G:b@EXAMPLE.org,\"c\"@example.net;");
+	teq(l1, l2);
+	teq(l1.getAddresses().get(1), l2.getAddresses().get(1));
+	// display name compared in user representation
+	teq(al("\"Foo\" <a@example.com>").getAddresses().get(0),
+	    al("Foo <a@example.com>").getAddresses().get(0));
+	tlt(al("a@example.com").getAddresses().get(0),
+	    al("Foo <a@example.com>").getAddresses().get(0));
+	tlt(al("Bar <a@example.com>").getAddresses().get(0),
+	    al("Foo <a@example.com>").getAddresses().get(0));
+	// mailboxen before groups, groups by name then members
+	tlt(al("z@example.com").getAddresses().get(0),
+	    al("A:;").getAddresses().get(0));
+	tlt(al("A: b@example.com;").getAddresses().get(0),
+	    al("B: a@example.com;").getAddresses().get(0));
+	tlt(al("A:;").getAddresses().get(0),
+	    al("A: a@example.com;").getAddresses().get(0));
+	tlt(al("A: a@example.com;").getAddresses().get(0),
+	    al("A: b@example.com;").getAddresses().get(0));
+	tlt(al("a@example.com"), al("a@example.com, b@example.com"));
+	tlt(al("a@example.com, c@example.com"), al("b@example.com"));
+
+	// usable as keys
+	val set = new HashSet<Path.AddrSpec>();
+	for (final String s : al("a@example.com, \"a\"@EXAMPLE.com, b@example.com").flattenAddrSpecs())
+		set.add(Path.of(s).asAddrSpec());
+	assertEquals(2, set.size());
+	val sorted = new TreeSet<Path.AddressList>(Arrays.asList(al("b@example.com"),
+	    al("a@example.com"), al("A@example.com"), al("a@EXAMPLE.com")));
+	assertEquals("[A@example.com, a@example.com, b@example.com]", sorted.toString());
+}
+
+@Test
+public void
+testRecipients()
+{
+	val r = Path.recipients("Foo <a@EXAMPLE.com>, G: b@example.org, \"a\"@example.com;",
+	    null, "b@Example.ORG, c@example.net, H:;", "A@example.com");
+	assertNotNull(r);
+	assertEquals("[a@EXAMPLE.com, b@example.org, c@example.net, A@example.com]",
+	    r.toString());
+	assertNull(Path.recipients("a@example.com", "@"));
+	assertEquals(0, Path.recipients().size());
+	assertEquals(0, Path.recipients((String)null).size());
+	// many, beyond the initial table size
+	val to = new StringBuilder();
+	val cc = new StringBuilder();
+	for (int i = 0; i < 1000; ++i) {
+		to.append(i == 0 ? "" : ", ").append("u").append(i).append("@example.com");
+		// even ones duplicate those in to
+		cc.append(i == 0 ? "" : ", ").append("u").append(i).
+		    append(i % 2 == 0 ? "@EXAMPLE.COM" : "@example.org");
+	}
+	val l = Path.recipients(to, cc, to);
+	assertNotNull(l);
+	assertEquals(1500, l.size());
+	assertEquals(new HashSet<>(l).size(), l.size());
+	assertEquals("u0@example.com", l.get(0).toString());
+	assertEquals("u1@example.org", l.get(1000).toString());
+}
+
 }
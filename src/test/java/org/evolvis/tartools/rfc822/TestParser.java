@@ -42,12 +42,12 @@ protected final String[] keywords = { "meow" };
  * @return null if input was null or too large, the new instance otherwise
  */
 public static TestParser
-of(final String input)
+of(final CharSequence input)
 {
 	return Parser.of(TestParser.class, input);
 }
 
-protected TestParser(final String input)
+protected TestParser(final CharSequence input)
 {
 	super(input, 16);
 }
@@ -100,7 +100,7 @@ word()
 		if (peek() == -1)
 			break;
 	final int end = pos();
-	return s().substring(beg, end);
+	return s(beg, end);
 }
 
 private List<String>
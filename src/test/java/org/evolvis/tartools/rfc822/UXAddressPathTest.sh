@@ -27,5 +27,6 @@ sed \
     -e '/UXAddress-trailing-dot-test/s/RN/WO/' \
     -e '/UXAddress-trailing-dot-test/s/SN/s0/g' \
     -e '/UXAddress-list-test/s/SN/S(VO, s8)/g' \
+    -e '/UXAddress-group-list-test/s|\*/ SN|*/ S(VO, s17)|' \
     <PathTest.java >UXAddressPathTest.java~
 mv UXAddressPathTest.java~ UXAddressPathTest.java